@@ -1,7 +0,0 @@
-public class Main {
-    public static void main(String[] args) {
-        ConnectFour game = new ConnectFour();
-        game.startGame();
-    }
-}
-
@@ -0,0 +1,56 @@
+package connectfour.bench;
+
+import connectfour.Position;
+
+// Fixed position suite shared by the benchmarks, as 1-based move sequences with the
+// human moving first. Every position has the bot to move and no immediate win or block,
+// so the engine really has to search it.
+final class BenchmarkPositions {
+    static final String[] OPENING = {
+        "4",
+        "445",
+        "44444",
+    };
+
+    static final String[] MIDGAME = {
+        "4435536",
+        "432511766",
+        "44443335211",
+    };
+
+    static final String[] ENDGAME = {
+        "41141116626371526664227",
+        "2322312331112627576711357",
+        "167747716235244566745247451",
+    };
+
+    private BenchmarkPositions() {
+    }
+
+    static String[] forPhase(String phase) {
+        switch (phase) {
+            case "opening": return OPENING;
+            case "midgame": return MIDGAME;
+            case "endgame": return ENDGAME;
+            default: throw new IllegalArgumentException("Unknown phase: " + phase);
+        }
+    }
+
+    static Position[] positions(String phase) {
+        String[] moves = forPhase(phase);
+        Position[] positions = new Position[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            positions[i] = Position.fromMoves(moves[i]);
+        }
+        return positions;
+    }
+
+    static char[][][] boards(String phase) {
+        Position[] positions = positions(phase);
+        char[][][] boards = new char[positions.length][][];
+        for (int i = 0; i < positions.length; i++) {
+            boards[i] = positions[i].toBoard('O', 'X', ' ');
+        }
+        return boards;
+    }
+}
@@ -0,0 +1,100 @@
+package connectfour.bench;
+
+import connectfour.BotLogic;
+import connectfour.ConnectFour;
+import connectfour.Position;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The per-node primitives of the search, each run over every position of the suite
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String phase;
+
+    private char[][][] boards;
+    private Position[] positions;
+    private final BotLogic bot = new BotLogic(1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = BenchmarkPositions.boards(phase);
+        positions = BenchmarkPositions.positions(phase);
+    }
+
+    // Make, evaluate and unmake every legal move, as the search does at its leaves
+    @Benchmark
+    public int evaluateBoard() {
+        int sum = 0;
+        for (Position position : positions) {
+            for (int col = 0; col < Position.WIDTH; col++) {
+                if (position.canPlay(col)) {
+                    position.play(col, Position.BOT);
+                    sum += position.evaluate();
+                    position.undo(col);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int checkWinBitboard() {
+        int wins = 0;
+        for (Position position : positions) {
+            if (position.isWin(Position.BOT)) wins++;
+            if (position.isWin(Position.PLAYER)) wins++;
+        }
+        return wins;
+    }
+
+    @Benchmark
+    public int checkWinFullScan() {
+        int wins = 0;
+        for (char[][] board : boards) {
+            if (bot.checkWin(board, 'O')) wins++;
+            if (bot.checkWin(board, 'X')) wins++;
+        }
+        return wins;
+    }
+
+    // Probe the lines through the top piece of every column
+    @Benchmark
+    public int checkWinLastMove() {
+        int wins = 0;
+        for (char[][] board : boards) {
+            for (int col = 0; col < Position.WIDTH; col++) {
+                int row = bot.getNextEmptyRow(board, col) + 1;
+                if (row < Position.HEIGHT && ConnectFour.checkWin(board, row, col)) wins++;
+            }
+        }
+        return wins;
+    }
+
+    @Benchmark
+    public int getNextEmptyRow() {
+        int sum = 0;
+        for (char[][] board : boards) {
+            for (int col = 0; col < Position.WIDTH; col++) {
+                sum += bot.getNextEmptyRow(board, col);
+            }
+        }
+        return sum;
+    }
+}
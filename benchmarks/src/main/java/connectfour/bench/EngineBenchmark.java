@@ -0,0 +1,53 @@
+package connectfour.bench;
+
+import connectfour.BotLogic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The engine as the game uses it over the position suite: default depth, solver enabled.
+// The "nodes" counter is reported as a rate, which gives nodes/sec next to the searches/sec score.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String phase;
+
+    private char[][][] boards;
+    private BotLogic bot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = BenchmarkPositions.boards(phase);
+    }
+
+    // A new bot every iteration, so no iteration starts with the tables of the last one
+    @Setup(Level.Iteration)
+    public void newBot() {
+        bot = new BotLogic();
+    }
+
+    @Benchmark
+    public int findBestMove(NodeCounters counters) {
+        int sum = 0;
+        for (char[][] board : boards) {
+            sum += bot.findBestMove(board, 'O')[0];
+            counters.nodes += bot.getLastNodeCount();
+        }
+        return sum;
+    }
+}
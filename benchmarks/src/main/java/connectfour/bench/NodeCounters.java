@@ -0,0 +1,19 @@
+package connectfour.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Nodes searched, reported by JMH as a rate next to the benchmark's own score
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class NodeCounters {
+    public long nodes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        nodes = 0;
+    }
+}
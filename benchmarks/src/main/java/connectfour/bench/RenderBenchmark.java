@@ -0,0 +1,68 @@
+package connectfour.bench;
+
+import connectfour.BoardRenderer;
+import connectfour.Position;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Drawing the board: a full frame of every position of the suite, and a one-move update in diff mode
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String phase;
+
+    @Param({"true", "false"})
+    public boolean color;
+
+    private char[][][] boards;
+    private BoardRenderer frames;
+    private BoardRenderer diffs;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    // A cell that toggles between empty and a piece, so every diff frame has one change
+    private char[][] diffBoard;
+    private int diffCol;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        boards = BenchmarkPositions.boards(phase);
+        frames = new BoardRenderer(Position.HEIGHT, Position.WIDTH, color, false);
+        diffs = new BoardRenderer(Position.HEIGHT, Position.WIDTH, color, true);
+        diffBoard = boards[0];
+        while (diffBoard[0][diffCol] != ' ') {
+            diffCol++;
+        }
+        diffs.render(diffBoard, sink);
+    }
+
+    @Benchmark
+    public void fullFrame() throws IOException {
+        for (char[][] board : boards) {
+            frames.render(board, sink);
+        }
+    }
+
+    @Benchmark
+    public void diffFrame() throws IOException {
+        diffBoard[0][diffCol] = diffBoard[0][diffCol] == ' ' ? 'X' : ' ';
+        diffs.render(diffBoard, sink);
+    }
+}
@@ -0,0 +1,60 @@
+package connectfour.bench;
+
+import connectfour.BotLogic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Fixed-depth alpha-beta searches over the position suite. The "nodes" counter is reported
+// as a rate, which gives nodes/sec next to the searches/sec score. EngineBenchmark times
+// the engine as the game uses it.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String phase;
+
+    @Param({"4", "6", "8"})
+    public int depth;
+
+    private char[][][] boards;
+    private BotLogic minimaxBot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = BenchmarkPositions.boards(phase);
+    }
+
+    // A new bot every iteration, so no iteration starts with the tables of the last one
+    @Setup(Level.Iteration)
+    public void newBot() {
+        // Keep the exact solver out of the way so only minimax is measured
+        minimaxBot = new BotLogic();
+        minimaxBot.setSolverThreshold(Integer.MAX_VALUE);
+    }
+
+    // Heuristic alpha-beta only, to a fixed depth
+    @Benchmark
+    public int minimax(NodeCounters counters) {
+        int sum = 0;
+        for (char[][] board : boards) {
+            sum += minimaxBot.findBestMove(board, 'O', depth)[0];
+            counters.nodes += minimaxBot.getLastNodeCount();
+        }
+        return sum;
+    }
+}
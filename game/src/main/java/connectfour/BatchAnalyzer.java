@@ -0,0 +1,241 @@
+package connectfour;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Scores every column of a stream of positions. Positions are move sequences, one per line,
+// with 1-based columns and the first player moving first, e.g. "4453". Scores are for the side
+// to move. Lines are analysed in parallel but written in input order, and only a fixed window
+// of positions is in flight at once, so memory stays flat however long the input is.
+// Blank lines and lines starting with '#' are skipped.
+//
+// Usage: java -cp game/target/connect-four.jar connectfour.BatchAnalyzer
+//            [input|-] [csv|json] [depth] [threads] [limitMs]
+//
+// CSV:  moves,best,col1,...,col7,error  (empty score for a full column)
+// JSON: {"moves":"4453","best":4,"scores":[...]} or {"moves":"...","error":"..."}
+// With a time limit (0, the default, means none) a search still running when it runs out is
+// stopped and keeps the scores of its last completed depth, with that depth named in the
+// error field.
+public class BatchAnalyzer {
+    private static final int COLS = Position.WIDTH;
+    private static final int DEFAULT_DEPTH = 8;
+
+    // Positions queued or being searched per worker thread
+    private static final int IN_FLIGHT_PER_THREAD = 64;
+
+    private final boolean json;
+    private final int depth;
+    private final int threads;
+    private final long limitNanos;
+
+    // Every worker thread keeps its own bot, tables included
+    private final ThreadLocal<BotLogic> bots = ThreadLocal.withInitial(BotLogic::new);
+
+    public BatchAnalyzer(boolean json, int depth, int threads) {
+        this(json, depth, threads, Duration.ZERO);
+    }
+
+    // A zero time limit lets every search finish its depth
+    public BatchAnalyzer(boolean json, int depth, int threads, Duration timeLimit) {
+        this.json = json;
+        this.depth = depth;
+        this.threads = threads;
+        this.limitNanos = timeLimit.toNanos();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String input = args.length > 0 ? args[0] : "-";
+        boolean json = args.length > 1 && args[1].equalsIgnoreCase("json");
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DEPTH;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Duration timeLimit = Duration.ofMillis(args.length > 4 ? Long.parseLong(args[4]) : 0);
+
+        Reader reader = input.equals("-")
+                ? new InputStreamReader(System.in, StandardCharsets.US_ASCII)
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.US_ASCII);
+        try (BufferedReader in = new BufferedReader(reader);
+             Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII))) {
+            new BatchAnalyzer(json, depth, threads, timeLimit).analyze(in, out);
+        }
+    }
+
+    // Returns the number of positions written
+    public long analyze(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-analyzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService timer = limitNanos > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "batch-analyzer-timer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+        int window = threads * IN_FLIGHT_PER_THREAD;
+        long written = 0;
+
+        try {
+            if (!json) {
+                out.write(csvHeader());
+            }
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String moves = line.trim();
+                if (moves.isEmpty() || moves.startsWith("#")) {
+                    continue;
+                }
+
+                // Wait for the oldest position before reading further once the window is full
+                if (pending.size() >= window) {
+                    out.write(result(pending.removeFirst()));
+                    written++;
+                }
+                pending.addLast(pool.submit(() -> analyzeLine(moves, timer)));
+            }
+
+            while (!pending.isEmpty()) {
+                out.write(result(pending.removeFirst()));
+                written++;
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+            if (timer != null) {
+                timer.shutdownNow();
+            }
+        }
+        return written;
+    }
+
+    private static String result(Future<String> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Analysis failed", e.getCause());
+        }
+    }
+
+    private String analyzeLine(String moves, ScheduledExecutorService timer) {
+        Position position;
+        try {
+            position = Position.fromMoves(moves);
+        } catch (IllegalArgumentException e) {
+            return error(moves, e.getMessage());
+        }
+        if (position.isWin(Position.BOT) || position.isWin(Position.PLAYER)) {
+            return error(moves, "Game already won");
+        }
+        if (position.isFull()) {
+            return error(moves, "Board is full");
+        }
+
+        // Whoever moves next plays as the bot; the first player always holds X
+        boolean firstPlayerToMove = moves.length() % 2 == 0;
+        char[][] board = position.toBoard('O', 'X', ' ');
+        BotLogic bot = bots.get();
+        // The stopper is bound to this search, so a limit running out as it starts still stops it
+        ScheduledFuture<?> limit = timer == null ? null
+                : timer.schedule(bot.stopperForNextSearch(), limitNanos, TimeUnit.NANOSECONDS);
+        int[] scores = bot.scoreColumns(board, firstPlayerToMove ? 'X' : 'O', depth);
+        if (limit != null) {
+            limit.cancel(false);
+        }
+        if (scores == null) {
+            return error(moves, "Search stopped");
+        }
+        // Scores of a search cut short are kept, with the depth they come from as the error
+        String partial = bot.isLastScoreComplete() ? null : "Stopped at depth " + bot.getLastScoreDepth();
+        return format(moves, bestColumn(scores), scores, partial);
+    }
+
+    // Highest score, ties going to the column nearest the center
+    private static int bestColumn(int[] scores) {
+        int best = -1;
+        for (int col : MoveOrderer.CENTER_ORDER) {
+            if (scores[col] != Integer.MIN_VALUE && (best < 0 || scores[col] > scores[best])) {
+                best = col;
+            }
+        }
+        return best;
+    }
+
+    private String csvHeader() {
+        StringBuilder header = new StringBuilder("moves,best");
+        for (int col = 1; col <= COLS; col++) {
+            header.append(",col").append(col);
+        }
+        return header.append(",error\n").toString();
+    }
+
+    private String format(String moves, int best, int[] scores, String partial) {
+        StringBuilder line = new StringBuilder(64);
+        if (json) {
+            line.append("{\"moves\":\"").append(moves).append("\",\"best\":").append(best + 1).append(",\"scores\":[");
+            for (int col = 0; col < COLS; col++) {
+                if (col > 0) {
+                    line.append(',');
+                }
+                line.append(scores[col] == Integer.MIN_VALUE ? "null" : Integer.toString(scores[col]));
+            }
+            line.append(']');
+            if (partial != null) {
+                line.append(",\"error\":\"").append(escape(partial)).append('"');
+            }
+            line.append('}');
+        } else {
+            line.append(moves).append(',').append(best + 1);
+            for (int score : scores) {
+                line.append(',');
+                if (score != Integer.MIN_VALUE) {
+                    line.append(score);
+                }
+            }
+            line.append(',');
+            if (partial != null) {
+                line.append(csvField(partial));
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    private String error(String moves, String message) {
+        if (json) {
+            return "{\"moves\":\"" + escape(moves) + "\",\"error\":\"" + escape(message) + "\"}\n";
+        }
+        char[] emptyScores = new char[COLS + 1];
+        Arrays.fill(emptyScores, ',');
+        return csvField(moves) + new String(emptyScores) + ',' + csvField(message) + '\n';
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String csvField(String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
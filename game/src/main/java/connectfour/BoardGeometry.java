@@ -0,0 +1,240 @@
+package connectfour;
+
+import java.util.Random;
+
+// Board dimensions and everything the engine precomputes for them: the four-cell windows,
+// the windows through every cell, center-first move order, the root center bias and the
+// hash keys. Cells are numbered row * columns + col with row 0 at the bottom.
+//
+// Boards whose columns fit in a long at rows + 1 bits each also get the bitboard layout
+// Position plays on: bit col * (rows + 1) + row, with a spare bit on top of every column
+// so shifted lines never wrap into the next one. That is 7x6 (49 bits) and 8x7 (64 bits).
+public final class BoardGeometry {
+    // Root bias by distance from the center column(s): {3, 4, 5, 7, 5, 4, 3} on the standard board
+    private static final int[] CENTER_BIAS = {7, 5, 4, 3, 2, 1};
+
+    public static final BoardGeometry STANDARD = new BoardGeometry(7, 6);
+
+    // Sizes offered in the game menu
+    public static final BoardGeometry[] VARIANTS = {
+        STANDARD,
+        new BoardGeometry(8, 7),
+        new BoardGeometry(9, 7),
+        new BoardGeometry(10, 8),
+    };
+
+    private final int columns;
+    private final int rows;
+
+    final int[] centerOrder;
+    final int[] columnScores;
+    final boolean[] centerColumn;
+    final int[][] windows;
+    final int[][] cellWindows;
+    final long[][] zobrist;
+
+    // Bitboard layout, null and zero on boards that do not fit: the window masks, the windows
+    // through every bit, and the bottom cells, all cells, and odd and even rows (1, 3, 5...
+    // and 2, 4, 6... from the bottom) as masks
+    final int columnBits;
+    final long[] windowMasks;
+    final int[][] bitWindows;
+    final long bottomMask;
+    final long boardMask;
+    final long oddRowsMask;
+    final long evenRowsMask;
+
+    private BoardGeometry(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        centerOrder = buildCenterOrder();
+        columnScores = new int[columns];
+        centerColumn = new boolean[columns];
+        for (int col = 0; col < columns; col++) {
+            int distance = distanceFromCenter(col);
+            columnScores[col] = CENTER_BIAS[Math.min(distance, CENTER_BIAS.length - 1)];
+            centerColumn[col] = distance == 0;
+        }
+        windows = buildWindows();
+        cellWindows = buildCellWindows();
+        zobrist = buildZobrist();
+
+        columnBits = rows + 1;
+        if (fitsBitboard()) {
+            long bottom = 0;
+            for (int col = 0; col < columns; col++) {
+                bottom |= 1L << (col * columnBits);
+            }
+            long oddRows = 0;
+            for (int row = 0; row < rows; row += 2) {
+                oddRows |= 1L << row;
+            }
+            bottomMask = bottom;
+            boardMask = bottom * ((1L << rows) - 1);
+            oddRowsMask = bottom * oddRows;
+            evenRowsMask = bottom * (oddRows << 1) & boardMask;
+            windowMasks = buildWindowMasks();
+            bitWindows = buildBitWindows();
+        } else {
+            bottomMask = 0;
+            boardMask = 0;
+            oddRowsMask = 0;
+            evenRowsMask = 0;
+            windowMasks = null;
+            bitWindows = null;
+        }
+    }
+
+    public static BoardGeometry of(int columns, int rows) {
+        for (BoardGeometry variant : VARIANTS) {
+            if (variant.columns == columns && variant.rows == rows) {
+                return variant;
+            }
+        }
+        // Moves are stored in 4 bits by the transposition table, 15 meaning none
+        if (columns < 4 || rows < 4 || columns >= TranspositionTable.NO_MOVE) {
+            throw new IllegalArgumentException("Unsupported board size " + columns + "x" + rows);
+        }
+        return new BoardGeometry(columns, rows);
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cells() {
+        return columns * rows;
+    }
+
+    // The opening book, solver, position cache and game log are built for the standard board only
+    public boolean isStandard() {
+        return columns == STANDARD.columns && rows == STANDARD.rows;
+    }
+
+    // Searched on the bitboard Position; larger boards use GridPosition and the window tables
+    public boolean fitsBitboard() {
+        return columns * (rows + 1) <= Long.SIZE;
+    }
+
+    public int mirrorColumn(int col) {
+        return columns - 1 - col;
+    }
+
+    @Override
+    public String toString() {
+        return columns + "x" + rows;
+    }
+
+    // Columns from the center outwards: 3, 2, 4, 1, 5, 0, 6 on the standard board
+    private int[] buildCenterOrder() {
+        int[] order = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            order[i] = columns / 2 + (i % 2 == 0 ? i / 2 : -(i + 1) / 2);
+        }
+        return order;
+    }
+
+    // An even board has two center columns
+    private int distanceFromCenter(int col) {
+        int right = columns / 2;
+        int left = columns % 2 == 0 ? right - 1 : right;
+        return col < left ? left - col : Math.max(0, col - right);
+    }
+
+    private int cell(int row, int col) {
+        return row * columns + col;
+    }
+
+    private int[][] buildWindows() {
+        int count = rows * (columns - 3) + (rows - 3) * columns + 2 * (rows - 3) * (columns - 3);
+        int[][] result = new int[count][];
+        int n = 0;
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col <= columns - 4; col++) {
+                result[n++] = new int[]{cell(row, col), cell(row, col + 1), cell(row, col + 2), cell(row, col + 3)};
+            }
+        }
+        for (int row = 0; row <= rows - 4; row++) {
+            for (int col = 0; col < columns; col++) {
+                result[n++] = new int[]{cell(row, col), cell(row + 1, col), cell(row + 2, col), cell(row + 3, col)};
+            }
+        }
+        for (int row = 0; row <= rows - 4; row++) {
+            for (int col = 0; col <= columns - 4; col++) {
+                result[n++] = new int[]{cell(row, col), cell(row + 1, col + 1), cell(row + 2, col + 2), cell(row + 3, col + 3)};
+            }
+        }
+        for (int row = 3; row < rows; row++) {
+            for (int col = 0; col <= columns - 4; col++) {
+                result[n++] = new int[]{cell(row, col), cell(row - 1, col + 1), cell(row - 2, col + 2), cell(row - 3, col + 3)};
+            }
+        }
+
+        return result;
+    }
+
+    // The same windows as bitboard masks
+    private long[] buildWindowMasks() {
+        long[] masks = new long[windows.length];
+        for (int w = 0; w < windows.length; w++) {
+            for (int cell : windows[w]) {
+                masks[w] |= 1L << ((cell % columns) * columnBits + cell / columns);
+            }
+        }
+        return masks;
+    }
+
+    // For every bit index the windows that contain it; the spare bits have none
+    private int[][] buildBitWindows() {
+        int[][] result = new int[columns * columnBits][];
+        for (int index = 0; index < result.length; index++) {
+            int count = 0;
+            for (long window : windowMasks) {
+                if ((window >>> index & 1) != 0) count++;
+            }
+            result[index] = new int[count];
+            count = 0;
+            for (int w = 0; w < windowMasks.length; w++) {
+                if ((windowMasks[w] >>> index & 1) != 0) result[index][count++] = w;
+            }
+        }
+        return result;
+    }
+
+    private int[][] buildCellWindows() {
+        int[] counts = new int[cells()];
+        for (int[] window : windows) {
+            for (int cell : window) {
+                counts[cell]++;
+            }
+        }
+        int[][] result = new int[cells()][];
+        for (int cell = 0; cell < result.length; cell++) {
+            result[cell] = new int[counts[cell]];
+            counts[cell] = 0;
+        }
+        for (int w = 0; w < windows.length; w++) {
+            for (int cell : windows[w]) {
+                result[cell][counts[cell]++] = w;
+            }
+        }
+        return result;
+    }
+
+    // Fixed seed so keys are the same in every run
+    private long[][] buildZobrist() {
+        Random random = new Random(columns * 31L + rows);
+        long[][] keys = new long[2][cells()];
+        for (long[] sideKeys : keys) {
+            for (int cell = 0; cell < sideKeys.length; cell++) {
+                sideKeys[cell] = random.nextLong();
+            }
+        }
+        return keys;
+    }
+}
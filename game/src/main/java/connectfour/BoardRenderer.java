@@ -0,0 +1,164 @@
+package connectfour;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+// Draws the board for a terminal. Every frame is built from precomputed byte strings into one
+// reusable buffer and sent with a single write.
+//
+// In diff mode the first frame clears the screen, so the board sits at a known place. Later
+// frames only redraw the cells that changed since, addressing them with the cursor. They then
+// move the cursor below the board and clear whatever was printed there last turn.
+public final class BoardRenderer {
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String CYAN = "\u001B[36m";
+    private static final String NEWLINE = System.lineSeparator();
+    private static final byte[] CLEAR_SCREEN = ascii("\u001B[H\u001B[2J");
+    private static final byte[] CLEAR_BELOW = ascii("\u001B[J");
+
+    // Longest cursor move: ESC [ row ; col H
+    private static final int MAX_CURSOR_BYTES = 10;
+
+    // Screen lines above the first board row (a blank line and the column numbers), and
+    // screen columns left of the first cell ("| ")
+    private static final int TOP_LINES = 2;
+    private static final int LEFT_COLUMNS = 2;
+
+    private final int rows;
+    private final int cols;
+    private final boolean diff;
+
+    private final byte[] header;
+    private final byte[] rowStart;
+    private final byte[] rowEnd;
+    private final byte[] footer;
+    private final byte[][] cells = new byte[128][];
+
+    // What the terminal shows, for diff mode
+    private final char[][] shown;
+    private boolean drawn;
+
+    private final byte[] buffer;
+    private int length;
+
+    public BoardRenderer(int rows, int cols, boolean color, boolean diff) {
+        this.rows = rows;
+        this.cols = cols;
+        this.diff = diff;
+        String border = color ? CYAN : "";
+        String reset = color ? RESET : "";
+
+        StringBuilder numbers = new StringBuilder(NEWLINE).append(border).append("  ");
+        StringBuilder dashes = new StringBuilder(border).append("+ ");
+        for (int col = 0; col < cols; col++) {
+            numbers.append(String.format("%-2d", col + 1));
+            dashes.append("- ");
+        }
+        header = ascii(numbers.append(reset).append(NEWLINE).toString());
+        footer = ascii(dashes.append("+").append(reset).append(NEWLINE).append(NEWLINE).toString());
+        rowStart = ascii(border + "| " + reset);
+        rowEnd = ascii(border + "|" + reset + NEWLINE);
+
+        int widestCell = 0;
+        for (char c = 0; c < cells.length; c++) {
+            String piece = c + " ";
+            if (color && c == 'X') {
+                piece = RED + piece + RESET;
+            } else if (color && c == 'O') {
+                piece = YELLOW + piece + RESET;
+            }
+            cells[c] = ascii(piece);
+            widestCell = Math.max(widestCell, cells[c].length);
+        }
+
+        shown = new char[rows][cols];
+        int frameBytes = CLEAR_SCREEN.length + header.length
+                + rows * (rowStart.length + cols * widestCell + rowEnd.length) + footer.length;
+        int diffBytes = rows * cols * (MAX_CURSOR_BYTES + widestCell) + MAX_CURSOR_BYTES + CLEAR_BELOW.length;
+        buffer = new byte[Math.max(frameBytes, diffBytes)];
+    }
+
+    // Draw the board, row 0 at the top. Only the changed cells are sent in diff mode.
+    public void render(char[][] board, OutputStream out) throws IOException {
+        if (diff && drawn) {
+            changes(board);
+        } else {
+            frame(board);
+        }
+        out.write(buffer, 0, length);
+        out.flush();
+    }
+
+    // The next render draws a full frame again, e.g. after other output moved the board
+    public void reset() {
+        drawn = false;
+    }
+
+    private void frame(char[][] board) {
+        length = 0;
+        if (diff) {
+            put(CLEAR_SCREEN);
+        }
+        put(header);
+        for (int row = 0; row < rows; row++) {
+            put(rowStart);
+            for (int col = 0; col < cols; col++) {
+                put(cell(board[row][col]));
+            }
+            put(rowEnd);
+            System.arraycopy(board[row], 0, shown[row], 0, cols);
+        }
+        put(footer);
+        drawn = true;
+    }
+
+    private void changes(char[][] board) {
+        length = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                char piece = board[row][col];
+                if (piece != shown[row][col]) {
+                    putCursor(TOP_LINES + row + 1, LEFT_COLUMNS + 2 * col + 1);
+                    put(cell(piece));
+                    shown[row][col] = piece;
+                }
+            }
+        }
+        // Back to where a full frame leaves the cursor: after the footer and its blank line
+        putCursor(TOP_LINES + rows + 3, 1);
+        put(CLEAR_BELOW);
+    }
+
+    private byte[] cell(char piece) {
+        return cells[piece & 0x7F];
+    }
+
+    private void put(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    // ESC [ line ; column H, both 1-based
+    private void putCursor(int line, int column) {
+        buffer[length++] = 0x1B;
+        buffer[length++] = '[';
+        putNumber(line);
+        buffer[length++] = ';';
+        putNumber(column);
+        buffer[length++] = 'H';
+    }
+
+    private void putNumber(int value) {
+        if (value >= 10) {
+            putNumber(value / 10);
+        }
+        buffer[length++] = (byte) ('0' + value % 10);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
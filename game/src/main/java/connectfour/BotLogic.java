@@ -0,0 +1,427 @@
+package connectfour;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BotLogic {
+    private static final char EMPTY = ' ';
+    private static final int MAX_DEPTH = 6;
+    private static final int DEFAULT_TABLE_SIZE_MB = 16;
+    
+    // Positions with at least this many pieces are solved exactly instead of searched
+    private static final int DEFAULT_SOLVER_THRESHOLD = 16;
+    private static final int SOLVER_TABLE_BITS = 20;
+    
+    // Searches at least this deep are worth keeping in the position cache
+    private static final int MIN_CACHED_DEPTH = 8;
+    
+    private final BoardGeometry geometry;
+    private final int rows;
+    private final int cols;
+    private final TranspositionTable table;
+    
+    // Worker 0 runs on the calling thread, the others are Lazy SMP helpers on the pool
+    private final SearchWorker[] workers;
+    private final ExecutorService helperPool;
+    private final SearchStop stop = new SearchStop();
+    private OpeningBook openingBook;
+    private PositionCache positionCache;
+    private final Solver solver;
+    private int solverThreshold = DEFAULT_SOLVER_THRESHOLD;
+    private final SearchMetrics metrics = SearchMetrics.global();
+    private SearchStats lastStats = SearchStats.NONE;
+    private int lastScoreDepth = -1;
+    private boolean lastScoreComplete;
+    
+    // How the move of the current search was found, and the depth it reached
+    private SearchStats.Source lastSource;
+    private int lastDepth;
+    
+    public BotLogic() {
+        this(DEFAULT_TABLE_SIZE_MB);
+    }
+    
+    public BotLogic(int tableSizeMb) {
+        this(tableSizeMb, 1);
+    }
+    
+    public BotLogic(int tableSizeMb, int threads) {
+        this(BoardGeometry.STANDARD, tableSizeMb, threads);
+    }
+    
+    public BotLogic(BoardGeometry geometry) {
+        this(geometry, DEFAULT_TABLE_SIZE_MB, 1);
+    }
+    
+    // The opening book, the position cache and the solver are built for the standard
+    // board and are only used there; other sizes always search
+    public BotLogic(BoardGeometry geometry, int tableSizeMb, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Search needs at least one thread");
+        }
+        this.geometry = geometry;
+        rows = geometry.rows();
+        cols = geometry.columns();
+        table = new TranspositionTable(tableSizeMb);
+        solver = geometry.isStandard() ? new Solver(SOLVER_TABLE_BITS) : null;
+        workers = new SearchWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new SearchWorker(i, geometry, table, stop.flag);
+        }
+        helperPool = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "bot-search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+    
+    // Ask a search running on another thread to finish early with its best result so far
+    public void stop() {
+        stop.flag.set(true);
+    }
+    
+    // Stops the next search this bot runs whenever it is run: before that search starts, while
+    // it runs or after it ended (when it does nothing). Take it on the thread that searches.
+    public Runnable stopperForNextSearch() {
+        return stop.nextSearch();
+    }
+    
+    // Stop the helper threads of a parallel bot
+    public void shutdown() {
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+        }
+    }
+    
+    // Positions found in the book are answered without searching
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+    
+    // Solved and deep-searched results are looked up in and added to the cache
+    public void setPositionCache(PositionCache positionCache) {
+        this.positionCache = positionCache;
+    }
+    
+    // Switch to the exact solver once this many pieces are on the board
+    public void setSolverThreshold(int moves) {
+        this.solverThreshold = moves;
+    }
+    
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+    
+    public int getThreadCount() {
+        return workers.length;
+    }
+    
+    // Statistics of the last findBestMove call
+    public SearchStats getLastStats() {
+        return lastStats;
+    }
+    
+    // Nodes visited by all workers during the last search
+    public long getLastNodeCount() {
+        return lastStats.getNodes();
+    }
+    
+    // Share of expanded nodes in the last search that ended in a cutoff
+    public double getLastCutoffRate() {
+        return lastStats.getCutoffRate();
+    }
+    
+    // Share of cutoffs in the last search that the first ordered move produced
+    public double getLastFirstMoveCutoffRate() {
+        return lastStats.getFirstMoveCutoffRate();
+    }
+    
+    public int[] findBestMove(char[][] board, char botSymbol) {
+        return search(board, botSymbol, MAX_DEPTH, Long.MAX_VALUE);
+    }
+    
+    public int[] findBestMove(char[][] board, char botSymbol, int depth) {
+        return search(board, botSymbol, depth, Long.MAX_VALUE);
+    }
+    
+    // Deepen one ply at a time until the budget runs out, keeping the last completed result
+    public int[] findBestMove(char[][] board, char botSymbol, Duration budget) {
+        return search(board, botSymbol, rows * cols, System.nanoTime() + budget.toNanos());
+    }
+    
+    // Minimax score of every column for the bot to move, searched to the given depth.
+    // Full columns score Integer.MIN_VALUE. Wins score 100 minus the plies to reach them.
+    // A stop() cuts the search short: the scores are then those of the last completed depth
+    // (see getLastScoreDepth), or null when not even depth 0 completed.
+    public int[] scoreColumns(char[][] board, char botSymbol, int depth) {
+        GamePosition position = GamePosition.fromBoard(geometry, board, botSymbol, EMPTY);
+        stop.start();
+        table.newSearch();
+        
+        int[] scores = new int[cols];
+        SearchWorker worker = workers[0];
+        lastScoreComplete = worker.scoreMoves(position,
+                Math.max(0, Math.min(depth, rows * cols - position.moveCount() - 1)), scores);
+        lastScoreDepth = worker.completedDepth();
+        return lastScoreDepth < 0 ? null : scores;
+    }
+    
+    // Depth the last scoreColumns call completed
+    public int getLastScoreDepth() {
+        return lastScoreDepth;
+    }
+    
+    // False when the last scoreColumns call was stopped before the depth it was asked for
+    public boolean isLastScoreComplete() {
+        return lastScoreComplete;
+    }
+    
+    // Time the search and publish its statistics to the metrics and the flight recorder
+    private int[] search(char[][] board, char botSymbol, int maxDepth, long deadline) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        
+        lastSource = SearchStats.Source.FORCED;
+        lastDepth = -1;
+        int[] result = searchPosition(board, botSymbol, maxDepth, deadline);
+        lastStats = collectStats(System.nanoTime() - start);
+        metrics.record(lastStats);
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = lastStats.getSource().name();
+            event.depth = lastStats.getDepth();
+            event.nodes = lastStats.getNodes();
+            event.leafEvaluations = lastStats.getLeafEvaluations();
+            event.cutoffRate = lastStats.getCutoffRate();
+            event.firstMoveCutoffRate = lastStats.getFirstMoveCutoffRate();
+            event.tableHitRate = lastStats.getTableHitRate();
+            event.threads = workers.length;
+            event.move = result[0];
+            event.commit();
+        }
+        return result;
+    }
+    
+    private SearchStats collectStats(long wallNanos) {
+        if (lastSource == SearchStats.Source.SOLVER) {
+            return new SearchStats(lastSource, lastDepth, solver.nodes(), 0, 0, 0, 0, 0, 0, wallNanos);
+        }
+        if (lastSource != SearchStats.Source.SEARCH) {
+            return new SearchStats(lastSource, lastDepth, 0, 0, 0, 0, 0, 0, 0, wallNanos);
+        }
+        
+        long nodes = 0;
+        long leafEvaluations = 0;
+        long expandedNodes = 0;
+        long cutoffs = 0;
+        long firstMoveCutoffs = 0;
+        long tableProbes = 0;
+        long tableHits = 0;
+        for (SearchWorker worker : workers) {
+            nodes += worker.nodes();
+            leafEvaluations += worker.leafEvaluations();
+            expandedNodes += worker.expandedNodes();
+            cutoffs += worker.cutoffs();
+            firstMoveCutoffs += worker.firstMoveCutoffs();
+            tableProbes += worker.tableProbes();
+            tableHits += worker.tableHits();
+        }
+        return new SearchStats(lastSource, lastDepth, nodes, leafEvaluations, expandedNodes,
+                cutoffs, firstMoveCutoffs, tableProbes, tableHits, wallNanos);
+    }
+    
+    private int[] searchPosition(char[][] board, char botSymbol, int maxDepth, long deadline) {
+        stop.start();
+        GamePosition position = GamePosition.fromBoard(geometry, board, botSymbol, EMPTY);
+        
+        // If board is empty, pick the middle column
+        if (position.isEmpty()) {
+            lastSource = SearchStats.Source.BOOK;
+            return new int[]{cols / 2};
+        }
+        
+        if (openingBook != null && geometry.isStandard()) {
+            int bookMove = openingBook.lookup((Position) position);
+            if (bookMove >= 0 && position.canPlay(bookMove)) {
+                lastSource = SearchStats.Source.BOOK;
+                return new int[]{bookMove};
+            }
+        }
+        
+        // If a move wins, choose it immediately
+        for (int col = 0; col < cols; col++) {
+            if (position.canPlay(col) && position.isWinningMove(col, Position.BOT)) {
+                return new int[]{col};
+            }
+        }
+        
+        // Check if player can win in one move and block it
+        for (int col = 0; col < cols; col++) {
+            if (position.canPlay(col) && position.isWinningMove(col, Position.PLAYER)) {
+                return new int[]{col};
+            }
+        }
+        
+        // Start from the first valid column in case not even depth 1 completes
+        int bestCol = -1;
+        for (int col = 0; col < cols; col++) {
+            if (position.canPlay(col)) {
+                bestCol = col;
+                break;
+            }
+        }
+        
+        // Depth counts the plies searched below the root move; no point going past the last empty cell
+        int depthLimit = Math.min(maxDepth, rows * cols - position.moveCount() - 1);
+        
+        // A solved or deep enough cached result answers at once, a shallower one is tried first
+        PositionCache.Entry cached = positionCache != null && geometry.isStandard()
+                ? positionCache.lookup((Position) position) : null;
+        if (cached != null && position.canPlay(cached.move())) {
+            if (cached.isSolved() || cached.depth() >= depthLimit) {
+                lastSource = SearchStats.Source.CACHE;
+                lastDepth = cached.depth();
+                return new int[]{cached.move()};
+            }
+            bestCol = cached.move();
+        }
+        
+        table.newSearch();
+        
+        if (solver != null && position.moveCount() >= solverThreshold) {
+            // Leave half of a timed budget to the heuristic search in case the solve does not finish
+            long now = System.nanoTime();
+            long solverDeadline = deadline == Long.MAX_VALUE ? deadline : now + (deadline - now) / 2;
+            int solved = solver.bestMove((Position) position, Position.BOT, solverDeadline, stop.flag);
+            if (solved >= 0) {
+                // An exact solve reads every remaining ply
+                lastSource = SearchStats.Source.SOLVER;
+                lastDepth = rows * cols - position.moveCount();
+                if (positionCache != null) {
+                    positionCache.store((Position) position, solved, solver.lastScore(), PositionCache.SOLVED);
+                }
+                return new int[]{solved};
+            }
+        }
+        
+        // Helpers search their own copy of the position and only share the table
+        int[] helperMoves = new int[workers.length];
+        Future<?>[] helpers = new Future<?>[workers.length];
+        for (int i = 1; i < workers.length; i++) {
+            int index = i;
+            GamePosition copy = position.copy();
+            int start = bestCol;
+            helpers[i] = helperPool.submit(() -> {
+                helperMoves[index] = workers[index].iterate(copy, depthLimit, start, deadline);
+            });
+        }
+        
+        int[] result = {workers[0].iterate(position, depthLimit, bestCol, deadline)};
+        int resultDepth = workers[0].completedDepth();
+        int resultScore = workers[0].completedScore();
+        stop.flag.set(true);
+        
+        for (int i = 1; i < workers.length; i++) {
+            try {
+                helpers[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                continue;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+            
+            // A helper that got further under the same deadline has the better answer
+            if (workers[i].completedDepth() > resultDepth) {
+                resultDepth = workers[i].completedDepth();
+                resultScore = workers[i].completedScore();
+                result[0] = helperMoves[i];
+            }
+        }
+        
+        if (positionCache != null && geometry.isStandard() && resultDepth >= MIN_CACHED_DEPTH
+                && (cached == null || resultDepth > cached.depth())) {
+            positionCache.store((Position) position, result[0], resultScore, resultDepth);
+        }
+        
+        lastSource = SearchStats.Source.SEARCH;
+        lastDepth = resultDepth;
+        return result;
+    }
+    
+    public boolean isValidMove(char[][] board, int col) {
+        return col >= 0 && col < cols && board[0][col] == EMPTY;
+    }
+    
+    public int getNextEmptyRow(char[][] board, int col) {
+        for (int row = rows - 1; row >= 0; row--) {
+            if (board[row][col] == EMPTY) {
+                return row;
+            }
+        }
+        return -1; // Column is full
+    }
+    
+    public boolean checkWin(char[][] board, char player) {
+        // Check horizontal
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col <= cols - 4; col++) {
+                if (board[row][col] == player && 
+                    board[row][col+1] == player && 
+                    board[row][col+2] == player && 
+                    board[row][col+3] == player) {
+                    return true;
+                }
+            }
+        }
+        
+        // Check vertical
+        for (int row = 0; row <= rows - 4; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (board[row][col] == player && 
+                    board[row+1][col] == player && 
+                    board[row+2][col] == player && 
+                    board[row+3][col] == player) {
+                    return true;
+                }
+            }
+        }
+        
+        // Check diagonal (down-right)
+        for (int row = 0; row <= rows - 4; row++) {
+            for (int col = 0; col <= cols - 4; col++) {
+                if (board[row][col] == player && 
+                    board[row+1][col+1] == player && 
+                    board[row+2][col+2] == player && 
+                    board[row+3][col+3] == player) {
+                    return true;
+                }
+            }
+        }
+        
+        // Check diagonal (up-right)
+        for (int row = 3; row < rows; row++) {
+            for (int col = 0; col <= cols - 4; col++) {
+                if (board[row][col] == player && 
+                    board[row-1][col+1] == player && 
+                    board[row-2][col+2] == player && 
+                    board[row-3][col+3] == player) {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    // Add a simplified method for ConnectFour to use
+    public int getColumnMove(char[][] board, char botSymbol) {
+        int[] moveArray = findBestMove(board, botSymbol);
+        return moveArray[0];
+    }
+} 
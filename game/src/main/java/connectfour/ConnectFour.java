@@ -0,0 +1,442 @@
+package connectfour;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Scanner;
+
+public class ConnectFour {
+    private static final char EMPTY = ' ';
+    private static final char PLAYER1 = 'X';
+    private static final char PLAYER2 = 'O';
+    private static final char BOT = 'O';
+    
+    // ANSI colors, empty strings in no-color mode
+    private final String reset;
+    private final String red;
+    private final String yellow;
+    private final String blue;
+    private final String cyan;
+    
+    // The bot's engine (see SearchEngine.searchers), and how long a bot move may take before
+    // findSimpleMove answers instead
+    static final String DEFAULT_ENGINE = "time:500";
+    static final Duration DEFAULT_MOVE_DEADLINE = Duration.ofSeconds(1);
+    
+    private BoardGeometry geometry = BoardGeometry.STANDARD;
+    private int rows;
+    private int cols;
+    private char[][] board;
+    private int[] nextEmptyRow;
+    private boolean gameOver;
+    private char currentPlayer;
+    private boolean vsBot;
+    
+    private final String engineSpec;
+    private final Duration moveDeadline;
+    private MoveEngine engine;
+    private MoveEngine botEngine;
+    private BoardGeometry engineGeometry;
+    private Ponderer ponderer;
+    private int ponderedReply = -1;
+    
+    // Moves of the game in progress, kept for the game log
+    private final GameLogWriter gameLog;
+    private int[] moves;
+    private int plies;
+    private long startMillis;
+    
+    private final PositionCache positionCache;
+    private final OpeningBook openingBook;
+    
+    private final boolean color;
+    private final boolean diffRendering;
+    private BoardRenderer renderer;
+    
+    public ConnectFour() {
+        this(null, null, null, true, false, DEFAULT_ENGINE, DEFAULT_MOVE_DEADLINE);
+    }
+    
+    // Every finished game is appended to the log and the bot shares its results through
+    // the position cache, when they are given. Without color no ANSI colors are printed;
+    // with diff rendering the board stays at the top of the screen and each turn only
+    // redraws the cells that changed. The bot plays with the engine the spec names, and when
+    // it has not answered by the deadline it plays findSimpleMove's move.
+    public ConnectFour(GameLogWriter gameLog, PositionCache positionCache, OpeningBook openingBook,
+                       boolean color, boolean diffRendering,
+                       String engineSpec, Duration moveDeadline) {
+        this.gameLog = gameLog;
+        this.positionCache = positionCache;
+        this.openingBook = openingBook;
+        this.color = color;
+        this.diffRendering = diffRendering;
+        this.engineSpec = engineSpec;
+        this.moveDeadline = moveDeadline;
+        reset = color ? "\u001B[0m" : "";
+        red = color ? "\u001B[31m" : "";
+        yellow = color ? "\u001B[33m" : "";
+        blue = color ? "\u001B[34m" : "";
+        cyan = color ? "\u001B[36m" : "";
+        initializeBoard();
+        gameOver = false;
+        currentPlayer = PLAYER1;
+    }
+    
+    private void initializeBoard() {
+        rows = geometry.rows();
+        cols = geometry.columns();
+        board = new char[rows][cols];
+        nextEmptyRow = new int[cols];
+        moves = new int[rows * cols];
+        renderer = new BoardRenderer(rows, cols, color, diffRendering);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                board[i][j] = EMPTY;
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            nextEmptyRow[j] = rows - 1;
+        }
+        plies = 0;
+    }
+    
+    public void startGame() {
+        Scanner scanner = new Scanner(System.in);
+        
+        boolean playAgain = true;
+        while (playAgain) {
+            playGame(scanner);
+            
+            System.out.print(cyan + "Play again? (y/n): " + reset);
+            playAgain = scanner.nextLine().trim().toLowerCase().equals("y");
+            if (playAgain) {
+                initializeBoard();
+                gameOver = false;
+                currentPlayer = PLAYER1;
+            }
+        }
+        if (engine != null) {
+            engine.close();
+        }
+    }
+    
+    private void playGame(Scanner scanner) {
+        System.out.println(cyan + "+-------------------------------+" + reset);
+        System.out.println(cyan + "|" + red + "     C O N N E C T  F O U R    " + cyan + "|" + reset);
+        System.out.println(cyan + "+-------------------------------+" + reset);
+        System.out.println();
+        
+        System.out.println(cyan + "Select Game Mode:" + reset);
+        System.out.println(red + "1. " + reset + "One Player (vs Bot)");
+        System.out.println(yellow + "2. " + reset + "Two Players");
+        System.out.print(cyan + "Enter your choice (1-2): " + reset);
+        
+        int mode = 0;
+        while (mode != 1 && mode != 2) {
+            try {
+                mode = Integer.parseInt(scanner.nextLine());
+                if (mode != 1 && mode != 2) {
+                    System.out.print(blue + "Invalid input. Try again (1-2): " + reset);
+                }
+            } catch (NumberFormatException e) {
+                System.out.print(blue + "Invalid input. Try again (1-2): " + reset);
+            }
+        }
+        
+        vsBot = (mode == 1);
+        
+        System.out.println(cyan + "Select Board Size:" + reset);
+        for (int i = 0; i < BoardGeometry.VARIANTS.length; i++) {
+            BoardGeometry variant = BoardGeometry.VARIANTS[i];
+            System.out.println(red + (i + 1) + ". " + reset + variant.columns() + " x " + variant.rows()
+                    + (variant.isStandard() ? " (standard)" : ""));
+        }
+        System.out.print(cyan + "Enter your choice (1-" + BoardGeometry.VARIANTS.length + "): " + reset);
+        
+        int size = 0;
+        while (size < 1 || size > BoardGeometry.VARIANTS.length) {
+            try {
+                size = Integer.parseInt(scanner.nextLine());
+                if (size < 1 || size > BoardGeometry.VARIANTS.length) {
+                    System.out.print(blue + "Invalid input. Try again (1-" + BoardGeometry.VARIANTS.length + "): " + reset);
+                }
+            } catch (NumberFormatException e) {
+                System.out.print(blue + "Invalid input. Try again (1-" + BoardGeometry.VARIANTS.length + "): " + reset);
+            }
+        }
+        geometry = BoardGeometry.VARIANTS[size - 1];
+        initializeBoard();
+        
+        // The engine's tables are sized for one board, so a new size needs a new engine
+        if (vsBot && engineGeometry != geometry) {
+            startEngine();
+        }
+        startMillis = System.currentTimeMillis();
+        
+        while (!gameOver) {
+            printBoard();
+            
+            int col;
+            if (currentPlayer == PLAYER1 || !vsBot) {
+                // Think about the replies while the player is choosing
+                if (vsBot) {
+                    ponderer.start(board, currentPlayer);
+                }
+                col = playerMove(scanner);
+                if (vsBot) {
+                    ponderedReply = ponderer.take(col);
+                }
+            } else {
+                col = botMove();
+            }
+            
+            // Only lines through the piece just dropped can be new wins
+            int row = makeMove(col, currentPlayer);
+            if (checkWin(board, row, col)) {
+                printBoard();
+                if (currentPlayer == BOT && vsBot) {
+                    System.out.println(yellow + "Bot wins!" + reset);
+                } else if (currentPlayer == PLAYER1) {
+                    System.out.println(red + "Player " + currentPlayer + " wins!" + reset);
+                } else {
+                    System.out.println(yellow + "Player " + currentPlayer + " wins!" + reset);
+                }
+                gameOver = true;
+                saveGame(currentPlayer == PLAYER1 ? GameRecord.FIRST_PLAYER_WINS : GameRecord.SECOND_PLAYER_WINS);
+            } else if (isBoardFull()) {
+                printBoard();
+                System.out.println(blue + "It's a draw!" + reset);
+                gameOver = true;
+                saveGame(GameRecord.DRAW);
+            } else {
+                switchPlayer();
+            }
+        }
+    }
+    
+    // An engine the size does not support gets the default one
+    private void startEngine() {
+        if (engine != null) {
+            engine.close();
+        }
+        try {
+            engine = MoveEngine.create(engineSpec, geometry, positionCache, openingBook);
+        } catch (IllegalArgumentException e) {
+            System.out.println(blue + e.getMessage() + ", the bot uses " + DEFAULT_ENGINE + reset);
+            engine = MoveEngine.create(DEFAULT_ENGINE, geometry, positionCache, openingBook);
+        }
+        botEngine = MoveEngine.withDeadline(engine, moveDeadline);
+        ponderer = new Ponderer(engine, geometry, BOT);
+        engineGeometry = geometry;
+    }
+    
+    // The record format packs standard board columns, other sizes are not logged
+    private void saveGame(int result) {
+        if (gameLog == null || !geometry.isStandard()) {
+            return;
+        }
+        try {
+            gameLog.append(GameRecord.of(moves, plies, result, vsBot ? GameRecord.VS_BOT : 0,
+                    startMillis, System.currentTimeMillis()));
+        } catch (IOException e) {
+            System.out.println(blue + "Could not save the game: " + e.getMessage() + reset);
+        }
+    }
+    
+    private void printBoard() {
+        try {
+            renderer.render(board, System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private int playerMove(Scanner scanner) {
+        int col = -1;
+        boolean validMove = false;
+        
+        while (!validMove) {
+            if (currentPlayer == PLAYER1) {
+                System.out.print(red + "Player " + currentPlayer + reset + ", choose a column (1-" + cols + "): ");
+            } else {
+                System.out.print(yellow + "Player " + currentPlayer + reset + ", choose a column (1-" + cols + "): ");
+            }
+            
+            try {
+                col = Integer.parseInt(scanner.nextLine()) - 1; // Convert to 0-based indexing
+                
+                if (col >= 0 && col < cols) {
+                    if (isValidMove(col)) {
+                        validMove = true;
+                    } else {
+                        System.out.println(blue + "Column is full. Try again." + reset);
+                    }
+                } else {
+                    System.out.println(blue + "Invalid column. Try again." + reset);
+                }
+            } catch (NumberFormatException e) {
+                System.out.println(blue + "Invalid input. Try again." + reset);
+            }
+        }
+        
+        return col;
+    }
+    
+    private int botMove() {
+        System.out.println(blue + "Bot is thinking..." + reset);
+        
+        // Use the reply prepared while the player was thinking, otherwise search now. The
+        // deadline engine always answers, with findSimpleMove's move when the search is late.
+        int col = ponderedReply;
+        ponderedReply = -1;
+        if (col < 0 || !isValidMove(col)) {
+            col = botEngine.move(board, BOT).join();
+        }
+        
+        System.out.println(yellow + "Bot placed in column " + (col + 1) + reset);
+        return col;
+    }
+    
+    // Simple fallback bot logic
+    static int findSimpleMove(char[][] board, char botSymbol) {
+        char playerSymbol = (botSymbol == PLAYER1) ? PLAYER2 : PLAYER1;
+        int rows = board.length;
+        int cols = board[0].length;
+        
+        // Check for winning move
+        for (int col = 0; col < cols; col++) {
+            if (isValidMove(board, col)) {
+                // Find row where piece would fall
+                int row = -1;
+                for (int r = rows - 1; r >= 0; r--) {
+                    if (board[r][col] == EMPTY) {
+                        row = r;
+                        break;
+                    }
+                }
+                
+                if (row != -1) {
+                    // Try this move
+                    board[row][col] = botSymbol;
+                    
+                    // If this move wins, choose it
+                    if (checkWin(board, row, col)) {
+                        board[row][col] = EMPTY; // Undo the move
+                        return col;
+                    }
+                    
+                    // Undo the move
+                    board[row][col] = EMPTY;
+                }
+            }
+        }
+        
+        // Check for blocking move
+        for (int col = 0; col < cols; col++) {
+            if (isValidMove(board, col)) {
+                // Find row where piece would fall
+                int row = -1;
+                for (int r = rows - 1; r >= 0; r--) {
+                    if (board[r][col] == EMPTY) {
+                        row = r;
+                        break;
+                    }
+                }
+                
+                if (row != -1) {
+                    // Try opponent's move
+                    board[row][col] = playerSymbol;
+                    
+                    // If this move would let opponent win, block it
+                    if (checkWin(board, row, col)) {
+                        board[row][col] = EMPTY; // Undo the move
+                        return col;
+                    }
+                    
+                    // Undo the move
+                    board[row][col] = EMPTY;
+                }
+            }
+        }
+        
+        // If no winning or blocking move, prefer center columns: middle, right, left, and outwards
+        for (int i = 0; i < cols; i++) {
+            int col = cols / 2 + (i % 2 == 1 ? (i + 1) / 2 : -i / 2);
+            if (col >= 0 && col < cols && isValidMove(board, col)) {
+                return col;
+            }
+        }
+        
+        // Last resort: first available column
+        for (int col = 0; col < cols; col++) {
+            if (isValidMove(board, col)) {
+                return col;
+            }
+        }
+        
+        // Board is full (shouldn't reach here)
+        return -1;
+    }
+    
+    public boolean isValidMove(int col) {
+        return isValidMove(board, col);
+    }
+    
+    private static boolean isValidMove(char[][] board, int col) {
+        return board[0][col] == EMPTY;
+    }
+    
+    // Drop the piece and return the row it landed on. A full column is left as it is and -1
+    // returned.
+    public int makeMove(int col, char player) {
+        if (nextEmptyRow[col] < 0) {
+            return -1;
+        }
+        int row = nextEmptyRow[col]--;
+        board[row][col] = player;
+        moves[plies++] = col;
+        return row;
+    }
+    
+    // Check only the four lines through the piece at (row, col), the move just played
+    public static boolean checkWin(char[][] board, int row, int col) {
+        char player = board[row][col];
+        if (player == EMPTY) {
+            return false;
+        }
+        
+        return countLine(board, row, col, 0, 1, player) >= 4     // Horizontal
+            || countLine(board, row, col, 1, 0, player) >= 4     // Vertical
+            || countLine(board, row, col, 1, 1, player) >= 4     // Diagonal (down-right)
+            || countLine(board, row, col, -1, 1, player) >= 4;   // Diagonal (up-right)
+    }
+    
+    // Length of the run of the player's pieces through (row, col) along one direction
+    private static int countLine(char[][] board, int row, int col, int deltaRow, int deltaCol, char player) {
+        int count = 1;
+        for (int r = row + deltaRow, c = col + deltaCol;
+             r >= 0 && r < board.length && c >= 0 && c < board[0].length && board[r][c] == player;
+             r += deltaRow, c += deltaCol) {
+            count++;
+        }
+        for (int r = row - deltaRow, c = col - deltaCol;
+             r >= 0 && r < board.length && c >= 0 && c < board[0].length && board[r][c] == player;
+             r -= deltaRow, c -= deltaCol) {
+            count++;
+        }
+        return count;
+    }
+    
+    private boolean isBoardFull() {
+        for (int col = 0; col < cols; col++) {
+            if (board[0][col] == EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void switchPlayer() {
+        currentPlayer = (currentPlayer == PLAYER1) ? PLAYER2 : PLAYER1;
+    }
+} 
@@ -0,0 +1,70 @@
+package connectfour;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Puts a hard deadline on another engine's moves. The cheap findSimpleMove answer is worked
+// out up front, so when the engine fails or is still searching at the deadline it is ready
+// at once, and the late search is cancelled. One timer thread serves every engine; it runs
+// at top priority so deadlines still fire when search threads hold all the cores.
+final class DeadlineEngine implements MoveEngine {
+    private static final ScheduledThreadPoolExecutor TIMER = timer();
+
+    private final MoveEngine engine;
+    private final long deadlineNanos;
+    private final SearchMetrics metrics = SearchMetrics.global();
+
+    DeadlineEngine(MoveEngine engine, Duration deadline) {
+        this.engine = engine;
+        this.deadlineNanos = deadline.toNanos();
+    }
+
+    private static ScheduledThreadPoolExecutor timer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "move-deadline");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        // Most moves beat their deadline, so their timeouts should not pile up in the queue
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    @Override
+    public CompletableFuture<Integer> move(char[][] board, char symbol) {
+        // The engine copies the board before returning, so the fallback can reuse it
+        CompletableFuture<Integer> search = engine.move(board, symbol);
+        int fallback = ConnectFour.findSimpleMove(board, symbol);
+
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = TIMER.schedule(() -> fallBack(result, fallback), deadlineNanos, TimeUnit.NANOSECONDS);
+        search.whenComplete((col, error) -> {
+            if (error == null) {
+                result.complete(col);
+            } else {
+                fallBack(result, fallback);
+            }
+        });
+        // However the move ends, nothing else needs to run for it
+        result.whenComplete((col, error) -> {
+            timeout.cancel(false);
+            search.cancel(true);
+        });
+        return result;
+    }
+
+    private void fallBack(CompletableFuture<Integer> result, int fallback) {
+        if (result.complete(fallback)) {
+            metrics.recordFallbackMove();
+        }
+    }
+
+    @Override
+    public void close() {
+        engine.close();
+    }
+}
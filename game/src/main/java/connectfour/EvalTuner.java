@@ -0,0 +1,274 @@
+package connectfour;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Fits the evaluation weights to game results (Texel's method). Every quiet position of the
+// logged games gives two samples, one from each side's point of view: the features the
+// evaluation weighs with that side as "own", and how the game ended for it. The search
+// evaluates its leaves from the bot's side whoever is to move, so the samples take both
+// sides whoever is to move too, and an own/opponent difference cannot stand in for the
+// tempo of the side to move. A logistic curve over the evaluation predicts the
+// result, and gradient descent (Adam) moves the weights to cut the mean squared error.
+// Only the ratio of the weights to the curve's steepness is fitted by the data, so the
+// three-in-a-row weight stays at its current value to keep the evaluation in its usual
+// range, below the win scores, and the steepness is refitted as the other weights move.
+//
+// The evaluation is linear in its weights, so the features are counted once into one flat
+// int array. Each step sweeps it on every core, a thread per slice summing its share of the
+// gradient into its own buffer, with no allocation inside the sweep.
+//
+// Usage: java -cp game/target/connect-four.jar connectfour.EvalTuner
+//            <gameLog> [weightsFile] [iterations] [threads]
+public class EvalTuner {
+    private static final int FEATURES = EvalWeights.COUNT;
+    private static final long CENTER_MASK = Position.columnMask(Position.WIDTH / 2);
+
+    // Adam step size and decay rates
+    private static final double LEARNING_RATE = 0.05;
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+
+    // The weight that sets the evaluation's units, and a bound on all the others
+    private static final int ANCHOR = EvalWeights.OWN_THREE;
+    private static final int MAX_WEIGHT = 20;
+
+    // Iterations between refits of the steepness
+    private static final int REFIT_INTERVAL = 100;
+
+    private final int[] features;
+    private final byte[] results;
+    private final int samples;
+
+    private final ExecutorService pool;
+    private final List<Callable<Void>> slices = new ArrayList<>();
+    private final double[][] partials;
+
+    // Weights being fitted, and the steepness of the logistic curve
+    private final double[] weights = new double[FEATURES];
+    private double scale;
+
+    EvalTuner(int[] features, byte[] results, int samples, int threads) {
+        this.features = features;
+        this.results = results;
+        this.samples = samples;
+        this.pool = Executors.newFixedThreadPool(threads);
+        this.partials = new double[threads][FEATURES + 1];
+        for (int thread = 0; thread < threads; thread++) {
+            int slice = thread;
+            int from = (int) ((long) samples * thread / threads);
+            int to = (int) ((long) samples * (thread + 1) / threads);
+            slices.add(() -> {
+                sweep(partials[slice], from, to);
+                return null;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: EvalTuner <gameLog> [weightsFile] [iterations] [threads]");
+            System.exit(1);
+        }
+        Path logPath = Paths.get(args[0]);
+        Path weightsPath = Paths.get(args.length > 1 ? args[1] : EvalWeights.DEFAULT_PATH);
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        EvalTuner tuner = load(GameLog.open(logPath), threads);
+        System.out.printf("%d samples from %s, %d threads%n", tuner.samples, logPath, threads);
+        try {
+            EvalWeights tuned = tuner.tune(EvalWeights.DEFAULTS, iterations);
+            double before = tuner.error(EvalWeights.DEFAULTS);
+            double after = tuner.error(tuned);
+            System.out.println("Tuned: " + tuned);
+            System.out.printf("Error %.6f -> %.6f%n", before, after);
+            tuned.save(weightsPath, String.format("Tuned by EvalTuner on %d samples from %s, error %.6f -> %.6f",
+                    tuner.samples, logPath.getFileName(), before, after));
+            System.out.println("Wrote " + weightsPath);
+        } finally {
+            tuner.shutdown();
+        }
+    }
+
+    // Count the features of every quiet position of the finished games
+    static EvalTuner load(GameLog log, int threads) {
+        int[] features = new int[1 << 16];
+        byte[] results = new byte[features.length / FEATURES];
+        int samples = 0;
+
+        for (GameRecord game : log) {
+            if (game.result() == GameRecord.ABANDONED) {
+                continue;
+            }
+            Position position = new Position();
+            for (int ply = 0; ply < game.plies(); ply++) {
+                int side = ply % 2 == 0 ? Position.PLAYER : Position.BOT;
+                if (isQuiet(position, side)) {
+                    for (int view = Position.BOT; view <= Position.PLAYER; view++) {
+                        if (samples == results.length) {
+                            results = Arrays.copyOf(results, samples * 2);
+                            features = Arrays.copyOf(features, samples * 2 * FEATURES);
+                        }
+                        countFeatures(position, side, view, features, samples * FEATURES);
+                        results[samples++] = result(game.result(), view);
+                    }
+                }
+                position.play(game.move(ply), side);
+            }
+        }
+        return new EvalTuner(features, results, samples, threads);
+    }
+
+    // Positions with a win on the board for either side say more about the search than the evaluation
+    private static boolean isQuiet(Position position, int side) {
+        return position.winningColumns(side) == 0 && position.winningColumns(side ^ 1) == 0;
+    }
+
+    // Half-points for the side: 2 win, 1 draw, 0 loss
+    private static byte result(int result, int side) {
+        if (result == GameRecord.DRAW) {
+            return 1;
+        }
+        int winner = result == GameRecord.FIRST_PLAYER_WINS ? Position.PLAYER : Position.BOT;
+        return (byte) (winner == side ? 2 : 0);
+    }
+
+    // What Position.evaluate and threatParity weigh, with the viewing side in the bot's place
+    static void countFeatures(Position position, int sideToMove, int view, int[] features, int offset) {
+        long own = position.pieces(view);
+        long opponent = position.pieces(view ^ 1);
+        for (long window : Position.WINDOWS) {
+            int owned = Long.bitCount(own & window);
+            int opposed = Long.bitCount(opponent & window);
+            if (opposed == 0 && owned > 0 && owned < 4) {
+                features[offset + EvalWeights.OWN_ONE + owned - 1]++;
+            } else if (owned == 0 && opposed > 0 && opposed < 4) {
+                features[offset + EvalWeights.OPPONENT_ONE + opposed - 1]++;
+            }
+        }
+        features[offset + EvalWeights.CENTER] = Long.bitCount(own & CENTER_MASK);
+        int balance = position.threatBalance(sideToMove);
+        features[offset + EvalWeights.PARITY] = view == Position.BOT ? balance : -balance;
+    }
+
+    // Fit the curve's steepness to the starting weights, then descend from them
+    EvalWeights tune(EvalWeights start, int iterations) throws InterruptedException, ExecutionException {
+        setWeights(start);
+        scale = fitScale();
+        System.out.printf("Scale %.4f, error %.6f%n", scale, step());
+
+        double[] gradient = new double[FEATURES];
+        double[] momentum = new double[FEATURES];
+        double[] velocity = new double[FEATURES];
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            double error = step();
+            for (int j = 0; j < FEATURES; j++) {
+                if (j == ANCHOR) {
+                    continue;
+                }
+                gradient[j] = 0;
+                for (double[] partial : partials) {
+                    gradient[j] += partial[j];
+                }
+                gradient[j] *= 2 * scale / samples;
+                momentum[j] = BETA1 * momentum[j] + (1 - BETA1) * gradient[j];
+                velocity[j] = BETA2 * velocity[j] + (1 - BETA2) * gradient[j] * gradient[j];
+                double correctedMomentum = momentum[j] / (1 - Math.pow(BETA1, iteration));
+                double correctedVelocity = velocity[j] / (1 - Math.pow(BETA2, iteration));
+                weights[j] -= LEARNING_RATE * correctedMomentum / (Math.sqrt(correctedVelocity) + 1e-9);
+                weights[j] = Math.max(-MAX_WEIGHT, Math.min(MAX_WEIGHT, weights[j]));
+            }
+            if (iteration % REFIT_INTERVAL == 0 || iteration == iterations) {
+                scale = fitScale();
+                System.out.printf("Iteration %d, error %.6f, scale %.4f%n", iteration, error, scale);
+            }
+        }
+
+        int[] rounded = new int[FEATURES];
+        for (int j = 0; j < FEATURES; j++) {
+            rounded[j] = (int) Math.round(weights[j]);
+        }
+        return new EvalWeights(rounded);
+    }
+
+    // Mean squared error of the weights at the steepness that suits them best
+    double error(EvalWeights candidate) throws InterruptedException, ExecutionException {
+        setWeights(candidate);
+        scale = fitScale();
+        return step();
+    }
+
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private void setWeights(EvalWeights candidate) {
+        for (int j = 0; j < FEATURES; j++) {
+            weights[j] = candidate.get(j);
+        }
+    }
+
+    // Golden-section search for the steepness that best fits the current weights
+    private double fitScale() throws InterruptedException, ExecutionException {
+        double ratio = (Math.sqrt(5) - 1) / 2;
+        double low = 0.001;
+        double high = 1;
+        while (high - low > 1e-4) {
+            double left = high - ratio * (high - low);
+            double right = low + ratio * (high - low);
+            scale = left;
+            double leftError = step();
+            scale = right;
+            double rightError = step();
+            if (leftError < rightError) {
+                high = right;
+            } else {
+                low = left;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    // One parallel sweep: leaves each thread's gradient sum in its partial and returns the error
+    private double step() throws InterruptedException, ExecutionException {
+        for (Future<Void> future : pool.invokeAll(slices)) {
+            future.get();
+        }
+        double error = 0;
+        for (double[] partial : partials) {
+            error += partial[FEATURES];
+        }
+        return error / samples;
+    }
+
+    // Per sample: evaluation, predicted result, and its share of the error and the gradient
+    private void sweep(double[] partial, int from, int to) {
+        Arrays.fill(partial, 0);
+        double error = 0;
+        for (int i = from; i < to; i++) {
+            int base = i * FEATURES;
+            double eval = 0;
+            for (int j = 0; j < FEATURES; j++) {
+                eval += weights[j] * features[base + j];
+            }
+            double predicted = 1 / (1 + Math.exp(-scale * eval));
+            double difference = predicted - results[i] * 0.5;
+            error += difference * difference;
+            double slope = difference * predicted * (1 - predicted);
+            for (int j = 0; j < FEATURES; j++) {
+                partial[j] += slope * features[base + j];
+            }
+        }
+        partial[FEATURES] = error;
+    }
+}
@@ -0,0 +1,135 @@
+package connectfour;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+
+// Weights of the static evaluation: what a window holding pieces of only one side is worth by
+// how many it holds, the bonus per bot piece in the center column and per threat on a row
+// that favours its owner (see Position.threatParity). EvalTuner fits them to game records and
+// writes a weights file, which is read once, before the first position is built, so the
+// incremental evaluation tables never change under a live position.
+//
+// The file is eval.weights in the working directory, or the path in the connectfour.weights
+// system property. Each line is name=value, and missing names keep their default.
+public final class EvalWeights {
+    public static final String DEFAULT_PATH = "eval.weights";
+    public static final String PATH_PROPERTY = "connectfour.weights";
+
+    // Indexes into the weight vector, in file order
+    static final int OWN_ONE = 0;
+    static final int OWN_TWO = 1;
+    static final int OWN_THREE = 2;
+    static final int OPPONENT_ONE = 3;
+    static final int OPPONENT_TWO = 4;
+    static final int OPPONENT_THREE = 5;
+    static final int CENTER = 6;
+    static final int PARITY = 7;
+    static final String[] NAMES = {
+        "own.one", "own.two", "own.three", "opponent.one", "opponent.two", "opponent.three", "center", "parity",
+    };
+    static final int COUNT = NAMES.length;
+
+    // A completed four; the search scores wins itself, so this is not tuned
+    static final int FOUR_SCORE = 100;
+
+    // The hand-picked weights; EvalTuner writes fitted ones to a weights file
+    static final EvalWeights DEFAULTS = new EvalWeights(new int[] {0, 2, 5, 0, 0, -5, 3, 4});
+
+    // The weights the evaluation uses
+    static final EvalWeights ACTIVE = loadActive();
+
+    private final int[] values;
+
+    EvalWeights(int[] values) {
+        if (values.length != COUNT) {
+            throw new IllegalArgumentException("Expected " + COUNT + " weights, got " + values.length);
+        }
+        this.values = values.clone();
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int[] values() {
+        return values.clone();
+    }
+
+    // Tells apart results scored under different weights, e.g. in the position cache
+    int hash() {
+        return Arrays.hashCode(values);
+    }
+
+    // Window scores indexed by [bot pieces][player pieces]
+    int[][] windowScores() {
+        int[][] scores = new int[5][5];
+        scores[4][0] = FOUR_SCORE;
+        for (int count = 1; count <= 3; count++) {
+            scores[count][0] = values[OWN_ONE + count - 1];
+            scores[0][count] = values[OPPONENT_ONE + count - 1];
+        }
+        return scores;
+    }
+
+    public static EvalWeights load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        int[] values = DEFAULTS.values();
+        for (int i = 0; i < COUNT; i++) {
+            String value = properties.getProperty(NAMES[i]);
+            if (value == null) {
+                continue;
+            }
+            try {
+                values[i] = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for " + NAMES[i] + ": " + value);
+            }
+        }
+        return new EvalWeights(values);
+    }
+
+    public void save(Path path, String comment) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("# " + comment);
+            writer.newLine();
+            for (int i = 0; i < COUNT; i++) {
+                writer.write(NAMES[i] + "=" + values[i]);
+                writer.newLine();
+            }
+        }
+    }
+
+    // The weights file when there is one, the defaults otherwise
+    private static EvalWeights loadActive() {
+        Path path = Paths.get(System.getProperty(PATH_PROPERTY, DEFAULT_PATH));
+        if (!Files.isRegularFile(path)) {
+            return DEFAULTS;
+        }
+        try {
+            return load(path);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring evaluation weights " + path + ": " + e.getMessage());
+            return DEFAULTS;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < COUNT; i++) {
+            text.append(i == 0 ? "" : ", ").append(NAMES[i]).append('=').append(values[i]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package connectfour;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Read-only view of a game log segment backed by memory-mapped files.
+//
+// File layout (big-endian):
+//   int  magic ('C4GL')
+//   int  version
+//   int  record size in bytes
+//   ...  padding up to one record
+//   GameRecord records, fixed size
+//
+// Records are fixed size, so record i starts at (i + 1) * GameRecord.BYTES and the
+// offset itself is the index: any game is one multiply away without an index file.
+// The log is mapped in chunks so segments larger than 2 GB can be read.
+//
+// Usage: java -cp game/target/connect-four.jar connectfour.GameLog [log] [list]
+public class GameLog implements Iterable<GameRecord> {
+    static final int MAGIC = 0x4334474C;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = GameRecord.BYTES;
+
+    // Records per mapped chunk; a whole number of records so none straddles two chunks
+    private static final int CHUNK_RECORDS = 1 << 25;
+    private static final long CHUNK_BYTES = (long) CHUNK_RECORDS * GameRecord.BYTES;
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private GameLog(FileChannel channel) throws IOException {
+        // A record only partly written by a crashed writer is ignored
+        long length = channel.size();
+        if (length < HEADER_BYTES) {
+            throw new IllegalArgumentException("Not a game log file");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        checkHeader(header);
+        size = (length - HEADER_BYTES) / GameRecord.BYTES;
+
+        int count = (int) ((size + CHUNK_RECORDS - 1) / CHUNK_RECORDS);
+        chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = HEADER_BYTES + i * CHUNK_BYTES;
+            long records = Math.min(CHUNK_RECORDS, size - (long) i * CHUNK_RECORDS);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, records * GameRecord.BYTES);
+        }
+    }
+
+    public static GameLog open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mappings stay valid after the channel is closed
+            return new GameLog(channel);
+        }
+    }
+
+    static void checkHeader(ByteBuffer header) {
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a game log file");
+        }
+        if (header.getInt(8) != GameRecord.BYTES) {
+            throw new IllegalArgumentException("Game log has records of " + header.getInt(8) + " bytes");
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public GameRecord get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Game " + index + " of " + size);
+        }
+        int offset = (int) (index % CHUNK_RECORDS) * GameRecord.BYTES;
+        return GameRecord.read(chunks[(int) (index / CHUNK_RECORDS)], offset);
+    }
+
+    @Override
+    public Iterator<GameRecord> iterator() {
+        return new Iterator<GameRecord>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public GameRecord next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws IOException {
+        GameLog log = open(Paths.get(args.length > 0 ? args[0] : GameLogWriter.DEFAULT_PATH));
+        boolean list = args.length > 1 && args[1].equals("list");
+
+        long[] results = new long[4];
+        long plies = 0;
+        for (GameRecord game : log) {
+            results[game.result()]++;
+            plies += game.plies();
+            if (list) {
+                System.out.println(game);
+            }
+        }
+        System.out.printf("%d games, %d plies: first player %d, second player %d, draws %d, abandoned %d%n",
+                log.size(), plies, results[GameRecord.FIRST_PLAYER_WINS], results[GameRecord.SECOND_PLAYER_WINS],
+                results[GameRecord.DRAW], results[GameRecord.ABANDONED]);
+    }
+}
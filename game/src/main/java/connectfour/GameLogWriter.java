@@ -0,0 +1,79 @@
+package connectfour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Appends games to a log segment through a FileChannel; GameLog reads it back.
+// Safe to share between threads, every record is written in one positioned write.
+public class GameLogWriter implements Closeable {
+    static final String DEFAULT_PATH = "games.c4log";
+
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(GameRecord.BYTES);
+    private long end;
+
+    private GameLogWriter(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long length = channel.size();
+        if (length == 0) {
+            ByteBuffer header = ByteBuffer.allocate(GameLog.HEADER_BYTES);
+            header.putInt(GameLog.MAGIC).putInt(GameLog.VERSION).putInt(GameRecord.BYTES).clear();
+            writeFully(header, 0);
+            end = GameLog.HEADER_BYTES;
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(GameLog.HEADER_BYTES);
+            readFully(header);
+            GameLog.checkHeader(header);
+            // Drop the tail of a record a crash left half written
+            end = length - (length - GameLog.HEADER_BYTES) % GameRecord.BYTES;
+        }
+    }
+
+    // Open a log for appending, creating it if it does not exist
+    public static GameLogWriter open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new GameLogWriter(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized void append(GameRecord game) throws IOException {
+        record.clear();
+        game.write(record);
+        record.flip();
+        writeFully(record, end);
+        end += GameRecord.BYTES;
+    }
+
+    // Force appended games to disk
+    public synchronized void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new IllegalArgumentException("Not a game log file");
+            }
+        }
+    }
+}
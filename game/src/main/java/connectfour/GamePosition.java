@@ -0,0 +1,55 @@
+package connectfour;
+
+// What the alpha-beta search needs from a position. Position is the bitboard version for
+// the boards that fit in a long (7x6 and 8x7), GridPosition the table-driven one for the
+// bigger sizes.
+// Sides are Position.BOT and Position.PLAYER.
+interface GamePosition {
+    static GamePosition fromBoard(BoardGeometry geometry, char[][] board, char botSymbol, char empty) {
+        return geometry.fitsBitboard()
+                ? Position.fromBoard(geometry, board, botSymbol, empty)
+                : GridPosition.fromBoard(geometry, board, botSymbol, empty);
+    }
+
+    boolean canPlay(int col);
+
+    // Drop a piece for the given side, returns the row it landed on (0 = bottom)
+    int play(int col, int side);
+
+    // Take back the top piece of the column
+    void undo(int col);
+
+    // Static evaluation from the bot's point of view
+    int evaluate();
+
+    boolean isWin(int side);
+
+    boolean isWinningMove(int col, int side);
+
+    // Columns (bit c for column c) where the side completes four with its next piece
+    int winningColumns(int side);
+
+    // Columns the side to move can play without handing the opponent a win on the next move:
+    // only the block when the opponent has one playable winning cell, none when it has two,
+    // and never a column right under one of the opponent's winning cells
+    int safeColumns(int side);
+
+    // Odd/even threat balance, bot minus player, added to the evaluation at the leaves
+    int threatParity(int sideToMove);
+
+    boolean isFull();
+
+    boolean isEmpty();
+
+    int moveCount();
+
+    long key();
+
+    long mirrorKey();
+
+    boolean isMirrored();
+
+    boolean isSymmetric();
+
+    GamePosition copy();
+}
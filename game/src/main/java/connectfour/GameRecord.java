@@ -0,0 +1,163 @@
+package connectfour;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// One finished game in the packed form stored by GameLog. Columns take 3 bits each,
+// 21 plies to a long, so a full 42 ply game fits in two longs.
+//
+// Record layout (big-endian, 32 bytes):
+//   long  moves of plies 0-20, ply 0 in the lowest bits
+//   long  moves of plies 21-41
+//   long  start time, epoch millis
+//   int   duration in millis
+//   byte  plies played
+//   byte  result
+//   short flags
+public final class GameRecord {
+    static final int BYTES = 32;
+
+    public static final int DRAW = 0;
+    public static final int FIRST_PLAYER_WINS = 1;
+    public static final int SECOND_PLAYER_WINS = 2;
+    public static final int ABANDONED = 3;
+
+    // Flags: game against the bot, and the bot moving first
+    public static final int VS_BOT = 1;
+    public static final int BOT_FIRST = 2;
+
+    private static final int MAX_PLIES = Position.WIDTH * Position.HEIGHT;
+    private static final int BITS_PER_MOVE = 3;
+    private static final int MOVES_PER_LONG = 21;
+
+    private final long movesLow;
+    private final long movesHigh;
+    private final long startMillis;
+    private final int durationMillis;
+    private final int plies;
+    private final int result;
+    private final int flags;
+
+    private GameRecord(long movesLow, long movesHigh, long startMillis, int durationMillis,
+                       int plies, int result, int flags) {
+        this.movesLow = movesLow;
+        this.movesHigh = movesHigh;
+        this.startMillis = startMillis;
+        this.durationMillis = durationMillis;
+        this.plies = plies;
+        this.result = result;
+        this.flags = flags;
+    }
+
+    // Pack the first plies columns (0-based) of a game
+    public static GameRecord of(int[] columns, int plies, int result, int flags, long startMillis, long endMillis) {
+        if (plies < 0 || plies > MAX_PLIES) {
+            throw new IllegalArgumentException("A game has 0 to " + MAX_PLIES + " plies");
+        }
+        long[] packed = new long[2];
+        for (int ply = 0; ply < plies; ply++) {
+            int col = columns[ply];
+            if (col < 0 || col >= Position.WIDTH) {
+                throw new IllegalArgumentException("Invalid column " + col + " at ply " + ply);
+            }
+            packed[ply / MOVES_PER_LONG] |= (long) col << (ply % MOVES_PER_LONG * BITS_PER_MOVE);
+        }
+        int duration = (int) Math.min(Integer.MAX_VALUE, Math.max(0, endMillis - startMillis));
+        return new GameRecord(packed[0], packed[1], startMillis, duration, plies, result, flags);
+    }
+
+    static GameRecord read(ByteBuffer buffer, int offset) {
+        return new GameRecord(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                buffer.getInt(offset + 24), buffer.get(offset + 28), buffer.get(offset + 29),
+                buffer.getShort(offset + 30) & 0xFFFF);
+    }
+
+    void write(ByteBuffer buffer) {
+        buffer.putLong(movesLow).putLong(movesHigh).putLong(startMillis).putInt(durationMillis)
+                .put((byte) plies).put((byte) result).putShort((short) flags);
+    }
+
+    // 0-based column played at the given ply
+    public int move(int ply) {
+        if (ply < 0 || ply >= plies) {
+            throw new IndexOutOfBoundsException("Ply " + ply + " of " + plies);
+        }
+        long packed = ply < MOVES_PER_LONG ? movesLow : movesHigh;
+        return (int) (packed >>> (ply % MOVES_PER_LONG * BITS_PER_MOVE)) & 7;
+    }
+
+    public int plies() {
+        return plies;
+    }
+
+    public int result() {
+        return result;
+    }
+
+    public int flags() {
+        return flags;
+    }
+
+    public long startMillis() {
+        return startMillis;
+    }
+
+    public long endMillis() {
+        return startMillis + durationMillis;
+    }
+
+    // Position after the given number of plies, first player as Position.PLAYER
+    public Position position(int ply) {
+        if (ply < 0 || ply > plies) {
+            throw new IndexOutOfBoundsException("Ply " + ply + " of " + plies);
+        }
+        Position position = new Position();
+        for (int i = 0; i < ply; i++) {
+            position.play(move(i), i % 2 == 0 ? Position.PLAYER : Position.BOT);
+        }
+        return position;
+    }
+
+    // Steps one position through the game, returning it after each ply. The same
+    // Position instance is advanced and returned every time; copy it to keep one.
+    public Iterator<Position> replay() {
+        return new Iterator<Position>() {
+            private final Position position = new Position();
+            private int ply;
+
+            @Override
+            public boolean hasNext() {
+                return ply < plies;
+            }
+
+            @Override
+            public Position next() {
+                if (ply >= plies) {
+                    throw new NoSuchElementException();
+                }
+                position.play(move(ply), ply % 2 == 0 ? Position.PLAYER : Position.BOT);
+                ply++;
+                return position;
+            }
+        };
+    }
+
+    // Moves as 1-based digits, the format Position.fromMoves reads
+    public String moves() {
+        char[] digits = new char[plies];
+        for (int ply = 0; ply < plies; ply++) {
+            digits[ply] = (char) ('1' + move(ply));
+        }
+        return new String(digits);
+    }
+
+    @Override
+    public String toString() {
+        String outcome = result == DRAW ? "draw"
+                : result == FIRST_PLAYER_WINS ? "first player wins"
+                : result == SECOND_PLAYER_WINS ? "second player wins"
+                : "abandoned";
+        return moves() + " " + outcome;
+    }
+}
@@ -0,0 +1,282 @@
+package connectfour;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Hosts many concurrent games against the bot over a line-based TCP protocol on localhost.
+// Each connection is one game session handled by its own (virtual, when available) thread.
+// Bot searches run on a small bounded engine pool so slow searches never block socket I/O.
+// Every bot move has a deadline: when the pool is saturated, or the search has not answered
+// by then, the session falls back to the cheap findSimpleMove.
+//
+// Usage: java -cp game/target/connect-four.jar connectfour.GameServer
+//            [port] [engineThreads] [queueCapacity] [moveBudgetMs] [gameLog] [positionCache]
+//            [moveDeadlineMs] [engine] [openingBook]
+// The deadline defaults to twice the budget, the engine (named as for SelfPlay) to
+// time:<moveBudgetMs>, and the opening book to opening.book when that file exists.
+//
+// Protocol (one command per line, columns are 1-7):
+//   NEW [FIRST|SECOND]  start a new game, moving first (default) or second
+//   MOVE <col>          drop a piece
+//   BOARD               print the board, '.' for empty cells, followed by END
+//   QUIT                close the connection
+// Replies: OK, BOT <col>, TURN, RESULT X|O|DRAW, ERR <reason>, BYE
+// A NEW or accepted MOVE is answered by OK, the bot's move if it had one, and then
+// either TURN (your move) or RESULT (game over).
+// With a game log every game is appended to it, including games left unfinished.
+// With a position cache all engine threads share it, and it persists across restarts.
+public class GameServer {
+    private static final int ROWS = 6;
+    private static final int COLS = 7;
+    private static final char EMPTY = ' ';
+    private static final char PLAYER1 = 'X';
+    private static final char PLAYER2 = 'O';
+
+    private final int port;
+    private final ThreadPoolExecutor enginePool;
+    private final ExecutorService connectionPool;
+    private final GameLogWriter gameLog;
+    private final PositionCache positionCache;
+
+    // Every engine thread keeps its own searcher, tables included
+    private final MoveEngine engine;
+
+    public GameServer(int port, int engineThreads, int queueCapacity, Duration moveBudget) {
+        this(port, engineThreads, queueCapacity, moveBudget, null, null);
+    }
+
+    public GameServer(int port, int engineThreads, int queueCapacity, Duration moveBudget,
+                      GameLogWriter gameLog, PositionCache positionCache) {
+        this(port, engineThreads, queueCapacity, "time:" + moveBudget.toMillis(), moveBudget.multipliedBy(2),
+                gameLog, positionCache, null);
+    }
+
+    public GameServer(int port, int engineThreads, int queueCapacity, String engineSpec, Duration moveDeadline,
+                      GameLogWriter gameLog, PositionCache positionCache, OpeningBook openingBook) {
+        this.port = port;
+        this.gameLog = gameLog;
+        this.positionCache = positionCache;
+        this.enginePool = new ThreadPoolExecutor(engineThreads, engineThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "engine-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.connectionPool = connectionExecutor();
+        this.engine = MoveEngine.withDeadline(new SearchEngine(enginePool,
+                SearchEngine.searchers(engineSpec, BoardGeometry.STANDARD, positionCache, openingBook)), moveDeadline);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4444;
+        int engineThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        long budgetMs = args.length > 3 ? Long.parseLong(args[3]) : 100;
+        GameLogWriter gameLog = args.length > 4 ? GameLogWriter.open(Paths.get(args[4])) : null;
+        PositionCache positionCache = args.length > 5 ? new PositionCache(Paths.get(args[5])) : null;
+        long deadlineMs = args.length > 6 ? Long.parseLong(args[6]) : 2 * budgetMs;
+        String engineSpec = args.length > 7 ? args[7] : "time:" + budgetMs;
+        OpeningBook openingBook = OpeningBook.openIfPresent(Paths.get(args.length > 8 ? args[8] : OpeningBook.DEFAULT_PATH));
+
+        new GameServer(port, engineThreads, queueCapacity, engineSpec, Duration.ofMillis(deadlineMs),
+                gameLog, positionCache, openingBook).serve();
+    }
+
+    public void serve() throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+            System.out.println("Connect Four server listening on " + server.getLocalSocketAddress());
+            while (!server.isClosed()) {
+                Socket socket = server.accept();
+                connectionPool.execute(() -> handle(socket));
+            }
+        } finally {
+            connectionPool.shutdownNow();
+            enginePool.shutdownNow();
+            if (gameLog != null) {
+                gameLog.close();
+            }
+            if (positionCache != null) {
+                positionCache.close();
+            }
+        }
+    }
+
+    // One thread per connection: virtual threads on Java 21+, a cached pool otherwise
+    private static ExecutorService connectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handle(Socket socket) {
+        Session session = null;
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), false, StandardCharsets.US_ASCII)) {
+            out.println("OK connect-four");
+            out.flush();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                String command = parts[0].toUpperCase();
+
+                if (command.equals("QUIT")) {
+                    out.println("BYE");
+                    out.flush();
+                    return;
+                } else if (command.equals("NEW")) {
+                    boolean humanFirst = parts.length < 2 || !parts[1].equalsIgnoreCase("SECOND");
+                    saveGame(session);
+                    session = new Session(humanFirst ? PLAYER1 : PLAYER2);
+                    out.println("OK");
+                    if (!humanFirst) {
+                        botTurn(session, out);
+                    }
+                    out.println("TURN");
+                } else if (command.equals("MOVE")) {
+                    if (session == null || session.finished) {
+                        out.println("ERR no game in progress");
+                    } else {
+                        humanTurn(session, parts, out);
+                    }
+                } else if (command.equals("BOARD")) {
+                    if (session == null) {
+                        out.println("ERR no game in progress");
+                    } else {
+                        session.print(out);
+                    }
+                } else {
+                    out.println("ERR unknown command");
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away; the session simply ends
+        } finally {
+            saveGame(session);
+        }
+    }
+
+    // Log a finished game, or one being left unfinished; each game is saved once
+    private void saveGame(Session session) {
+        if (gameLog == null || session == null || session.saved || session.moves == 0) {
+            return;
+        }
+        session.saved = true;
+        try {
+            gameLog.append(session.record());
+        } catch (IOException e) {
+            System.err.println("Could not save game: " + e.getMessage());
+        }
+    }
+
+    private void humanTurn(Session session, String[] parts, PrintWriter out) {
+        int col;
+        try {
+            col = Integer.parseInt(parts[1]) - 1;
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            out.println("ERR expected MOVE <1-" + COLS + ">");
+            return;
+        }
+        if (col < 0 || col >= COLS || !session.isValidMove(col)) {
+            out.println("ERR invalid column");
+            return;
+        }
+
+        out.println("OK");
+        if (!session.play(col, session.humanSymbol, out) && !botTurn(session, out)) {
+            out.println("TURN");
+        }
+        if (session.finished) {
+            saveGame(session);
+        }
+    }
+
+    // Returns true when the bot's move ended the game
+    private boolean botTurn(Session session, PrintWriter out) {
+        int col = requestBotMove(session);
+        out.println("BOT " + (col + 1));
+        return session.play(col, session.botSymbol, out);
+    }
+
+    // Search on the engine pool; the session thread only waits, and never past the deadline.
+    // A saturated pool rejects the search, and the deadline engine answers cheaply at once
+    // rather than queue without bound.
+    private int requestBotMove(Session session) {
+        return engine.move(session.board, session.botSymbol).join();
+    }
+
+    // All state of one game; nothing is shared between sessions
+    private static final class Session {
+        private final char[][] board = new char[ROWS][COLS];
+        private final byte[] nextEmptyRow = new byte[COLS];
+        private final char humanSymbol;
+        private final char botSymbol;
+        private final int[] history = new int[ROWS * COLS];
+        private final long startMillis = System.currentTimeMillis();
+        private int moves;
+        private int result = GameRecord.ABANDONED;
+        private boolean finished;
+        private boolean saved;
+
+        Session(char humanSymbol) {
+            this.humanSymbol = humanSymbol;
+            this.botSymbol = humanSymbol == PLAYER1 ? PLAYER2 : PLAYER1;
+            for (char[] row : board) {
+                Arrays.fill(row, EMPTY);
+            }
+            Arrays.fill(nextEmptyRow, (byte) (ROWS - 1));
+        }
+
+        boolean isValidMove(int col) {
+            return nextEmptyRow[col] >= 0;
+        }
+
+        // Play the move and report the result if it ends the game; returns true when it did
+        boolean play(int col, char symbol, PrintWriter out) {
+            int row = nextEmptyRow[col]--;
+            board[row][col] = symbol;
+            history[moves++] = col;
+
+            if (ConnectFour.checkWin(board, row, col)) {
+                out.println("RESULT " + symbol);
+                result = symbol == PLAYER1 ? GameRecord.FIRST_PLAYER_WINS : GameRecord.SECOND_PLAYER_WINS;
+                finished = true;
+            } else if (moves == ROWS * COLS) {
+                out.println("RESULT DRAW");
+                result = GameRecord.DRAW;
+                finished = true;
+            }
+            return finished;
+        }
+
+        GameRecord record() {
+            int flags = GameRecord.VS_BOT | (botSymbol == PLAYER1 ? GameRecord.BOT_FIRST : 0);
+            return GameRecord.of(history, moves, result, flags, startMillis, System.currentTimeMillis());
+        }
+
+        void print(PrintWriter out) {
+            for (char[] row : board) {
+                out.println(new String(row).replace(EMPTY, '.'));
+            }
+            out.println("END");
+        }
+    }
+}
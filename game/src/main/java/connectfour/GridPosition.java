@@ -0,0 +1,254 @@
+package connectfour;
+
+// Position for the boards too big for a bitboard (9x7 and 10x8). Every move updates the piece counts of
+// the windows through its cell (the table comes from BoardGeometry), which keeps the
+// evaluation, the win check and the winning-move test at a handful of table lookups
+// whatever the board size. Keys are Zobrist hashes, kept for the mirror image too.
+final class GridPosition implements GamePosition {
+    private static final int BOT = Position.BOT;
+    private static final int PLAYER = Position.PLAYER;
+
+    private final BoardGeometry geometry;
+    private final int columns;
+    private final int[][] cellWindows;
+    private final long[][] zobrist;
+
+    private final int[] height;
+    private final byte[] cells;
+    private int moves;
+
+    // Per window the pieces of each side, and per side the windows it has three in and has filled
+    private final byte[][] windowCounts;
+    private final int[] threeCount = new int[2];
+    private final int[] fourCount = new int[2];
+    private int score;
+
+    private long key;
+    private long mirrorKey;
+
+    GridPosition(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.columns = geometry.columns();
+        this.cellWindows = geometry.cellWindows;
+        this.zobrist = geometry.zobrist;
+        height = new int[columns];
+        cells = new byte[geometry.cells()];
+        windowCounts = new byte[2][geometry.windows.length];
+    }
+
+    // Convert a char board (row 0 at the top) into a position seen from the bot's side
+    static GridPosition fromBoard(BoardGeometry geometry, char[][] board, char botSymbol, char empty) {
+        GridPosition position = new GridPosition(geometry);
+        int rows = geometry.rows();
+        for (int col = 0; col < geometry.columns(); col++) {
+            for (int row = rows - 1; row >= 0; row--) {
+                char piece = board[row][col];
+                if (piece == empty) {
+                    break;
+                }
+                position.play(col, piece == botSymbol ? BOT : PLAYER);
+            }
+        }
+        return position;
+    }
+
+    @Override
+    public GridPosition copy() {
+        GridPosition copy = new GridPosition(geometry);
+        System.arraycopy(height, 0, copy.height, 0, columns);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        copy.moves = moves;
+        System.arraycopy(windowCounts[BOT], 0, copy.windowCounts[BOT], 0, windowCounts[BOT].length);
+        System.arraycopy(windowCounts[PLAYER], 0, copy.windowCounts[PLAYER], 0, windowCounts[PLAYER].length);
+        copy.threeCount[BOT] = threeCount[BOT];
+        copy.threeCount[PLAYER] = threeCount[PLAYER];
+        copy.fourCount[BOT] = fourCount[BOT];
+        copy.fourCount[PLAYER] = fourCount[PLAYER];
+        copy.score = score;
+        copy.key = key;
+        copy.mirrorKey = mirrorKey;
+        return copy;
+    }
+
+    @Override
+    public boolean canPlay(int col) {
+        return height[col] < geometry.rows();
+    }
+
+    @Override
+    public int play(int col, int side) {
+        int row = height[col]++;
+        int cell = row * columns + col;
+        cells[cell] = (byte) (side + 1);
+        moves++;
+        key ^= zobrist[side][cell];
+        mirrorKey ^= zobrist[side][row * columns + columns - 1 - col];
+
+        byte[] bot = windowCounts[BOT];
+        byte[] player = windowCounts[PLAYER];
+        byte[] counts = windowCounts[side];
+        for (int window : cellWindows[cell]) {
+            score -= Position.WINDOW_SCORE[bot[window]][player[window]];
+            int count = ++counts[window];
+            if (count == 3) {
+                threeCount[side]++;
+            } else if (count == 4) {
+                threeCount[side]--;
+                fourCount[side]++;
+            }
+            score += Position.WINDOW_SCORE[bot[window]][player[window]];
+        }
+        if (side == BOT && geometry.centerColumn[col]) {
+            score += Position.CENTER_BONUS;
+        }
+        return row;
+    }
+
+    @Override
+    public void undo(int col) {
+        int row = --height[col];
+        int cell = row * columns + col;
+        int side = cells[cell] - 1;
+        cells[cell] = 0;
+        moves--;
+        key ^= zobrist[side][cell];
+        mirrorKey ^= zobrist[side][row * columns + columns - 1 - col];
+
+        byte[] bot = windowCounts[BOT];
+        byte[] player = windowCounts[PLAYER];
+        byte[] counts = windowCounts[side];
+        for (int window : cellWindows[cell]) {
+            score -= Position.WINDOW_SCORE[bot[window]][player[window]];
+            int count = counts[window]--;
+            if (count == 3) {
+                threeCount[side]--;
+            } else if (count == 4) {
+                threeCount[side]++;
+                fourCount[side]--;
+            }
+            score += Position.WINDOW_SCORE[bot[window]][player[window]];
+        }
+        if (side == BOT && geometry.centerColumn[col]) {
+            score -= Position.CENTER_BONUS;
+        }
+    }
+
+    @Override
+    public int evaluate() {
+        return score;
+    }
+
+    @Override
+    public boolean isWin(int side) {
+        return fourCount[side] > 0;
+    }
+
+    @Override
+    public boolean isWinningMove(int col, int side) {
+        return completesFour(height[col] * columns + col, side);
+    }
+
+    @Override
+    public int winningColumns(int side) {
+        if (threeCount[side] == 0) {
+            return 0;
+        }
+        int winning = 0;
+        for (int col = 0; col < columns; col++) {
+            if (canPlay(col) && isWinningMove(col, side)) {
+                winning |= 1 << col;
+            }
+        }
+        return winning;
+    }
+
+    @Override
+    public int safeColumns(int side) {
+        int opponent = side ^ 1;
+        if (threeCount[opponent] == 0) {
+            return playableColumns();
+        }
+        int safe = 0;
+        int forced = 0;
+        for (int col = 0; col < columns; col++) {
+            if (!canPlay(col)) {
+                continue;
+            }
+            if (isWinningMove(col, opponent)) {
+                if (forced != 0) {
+                    // Two threats at once cannot both be blocked
+                    return 0;
+                }
+                forced = 1 << col;
+            }
+            int above = (height[col] + 1) * columns + col;
+            if (above >= cells.length || !completesFour(above, opponent)) {
+                safe |= 1 << col;
+            }
+        }
+        return forced != 0 ? safe & forced : safe;
+    }
+
+    private int playableColumns() {
+        int playable = 0;
+        for (int col = 0; col < columns; col++) {
+            if (canPlay(col)) {
+                playable |= 1 << col;
+            }
+        }
+        return playable;
+    }
+
+    // Finding the cells that are not yet playable means scanning every window, which would
+    // cost more than the rest of the evaluation on these boards, so parity is left out
+    @Override
+    public int threatParity(int sideToMove) {
+        return 0;
+    }
+
+    // A piece on the empty cell wins if some window through it already holds three of the side's pieces
+    private boolean completesFour(int cell, int side) {
+        byte[] counts = windowCounts[side];
+        for (int window : cellWindows[cell]) {
+            if (counts[window] == 3) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isFull() {
+        return moves == cells.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return moves == 0;
+    }
+
+    @Override
+    public int moveCount() {
+        return moves;
+    }
+
+    @Override
+    public long key() {
+        return key;
+    }
+
+    @Override
+    public long mirrorKey() {
+        return mirrorKey;
+    }
+
+    @Override
+    public boolean isMirrored() {
+        return mirrorKey < key;
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return mirrorKey == key;
+    }
+}
@@ -0,0 +1,58 @@
+package connectfour;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Main {
+    // Usage: [--no-color] [--diff] [--engine=SPEC] [--deadline=MS] [gameLog] [positionCache] [openingBook]
+    // --no-color (or a NO_COLOR environment variable) prints no ANSI colors, --diff keeps the
+    // board in place and only redraws the cells that change. --engine picks the bot's engine
+    // as SelfPlay names them, and --deadline is the longest a bot move may take.
+    public static void main(String[] args) {
+        boolean color = System.getenv("NO_COLOR") == null;
+        boolean diff = false;
+        String engine = ConnectFour.DEFAULT_ENGINE;
+        Duration deadline = ConnectFour.DEFAULT_MOVE_DEADLINE;
+        List<String> paths = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--no-color")) {
+                color = false;
+            } else if (arg.equals("--diff")) {
+                diff = true;
+            } else if (arg.startsWith("--engine=")) {
+                engine = arg.substring("--engine=".length());
+            } else if (arg.startsWith("--deadline=")) {
+                deadline = Duration.ofMillis(Long.parseLong(arg.substring("--deadline=".length())));
+            } else {
+                paths.add(arg);
+            }
+        }
+        
+        // Finished games go to the game log; the game still runs if it cannot be opened
+        GameLogWriter gameLog = null;
+        try {
+            gameLog = GameLogWriter.open(Paths.get(!paths.isEmpty() ? paths.get(0) : GameLogWriter.DEFAULT_PATH));
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Games will not be saved: " + e.getMessage());
+        }
+        
+        // The position cache carries the bot's solved positions over to the next run
+        PositionCache positionCache = new PositionCache(Paths.get(paths.size() > 1 ? paths.get(1) : PositionCache.DEFAULT_PATH));
+        
+        // The bot plays its first moves from the opening book when there is one
+        OpeningBook openingBook = OpeningBook.openIfPresent(
+                Paths.get(paths.size() > 2 ? paths.get(2) : OpeningBook.DEFAULT_PATH));
+        
+        ConnectFour game = new ConnectFour(gameLog, positionCache, openingBook, color, diff, engine, deadline);
+        game.startGame();
+        
+        try {
+            positionCache.close();
+        } catch (IOException e) {
+            System.out.println("Could not save the position cache: " + e.getMessage());
+        }
+    }
+}
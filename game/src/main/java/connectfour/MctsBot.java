@@ -0,0 +1,142 @@
+package connectfour;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Monte Carlo tree search (UCT) bot with the same calling conventions as BotLogic.
+// Root parallel: every thread grows its own tree from the same position with its own random
+// stream, and the root visit counts are summed to pick the move. Threads share nothing
+// while searching, so no locks or virtual loss are needed.
+public class MctsBot {
+    private static final int ROWS = 6;
+    private static final int COLS = 7;
+    private static final char EMPTY = ' ';
+    private static final int DEFAULT_PLAYOUTS = 100_000;
+    private static final int DEFAULT_NODE_CAPACITY = 1 << 20;
+
+    // Worker 0 runs on the calling thread, the others on the pool
+    private final MctsWorker[] workers;
+    private final ExecutorService helperPool;
+    private final SearchStop stop = new SearchStop();
+    private long lastPlayouts;
+
+    public MctsBot() {
+        this(1);
+    }
+
+    public MctsBot(int threads) {
+        this(threads, DEFAULT_NODE_CAPACITY);
+    }
+
+    // Node capacity is per thread; once a tree is full it keeps playing out from its leaves
+    public MctsBot(int threads, int nodeCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Search needs at least one thread");
+        }
+        workers = new MctsWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new MctsWorker(i, nodeCapacity, stop.flag);
+        }
+        helperPool = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public void shutdown() {
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+        }
+    }
+
+    // Ask a search running on another thread to finish early
+    public void stop() {
+        stop.flag.set(true);
+    }
+
+    // Stops the next search this bot runs, also when run before it starts (see BotLogic)
+    public Runnable stopperForNextSearch() {
+        return stop.nextSearch();
+    }
+
+    // Playouts run by all threads during the last search
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    public int getColumnMove(char[][] board, char botSymbol) {
+        return findBestMove(board, botSymbol, DEFAULT_PLAYOUTS)[0];
+    }
+
+    // Spend about this many playouts in total, split over the threads
+    public int[] findBestMove(char[][] board, char botSymbol, int playouts) {
+        return search(board, botSymbol, Math.max(1, playouts / workers.length), Long.MAX_VALUE);
+    }
+
+    // Play out until the budget runs out
+    public int[] findBestMove(char[][] board, char botSymbol, Duration budget) {
+        return search(board, botSymbol, Long.MAX_VALUE, System.nanoTime() + budget.toNanos());
+    }
+
+    private int[] search(char[][] board, char botSymbol, long playoutsPerThread, long deadline) {
+        stop.start();
+        Position position = Position.fromBoard(board, botSymbol, EMPTY);
+        lastPlayouts = 0;
+
+        // Wins and forced blocks need no statistics
+        for (int col = 0; col < COLS; col++) {
+            if (position.canPlay(col) && position.isWinningMove(col, Position.BOT)) {
+                return new int[]{col};
+            }
+        }
+        for (int col = 0; col < COLS; col++) {
+            if (position.canPlay(col) && position.isWinningMove(col, Position.PLAYER)) {
+                return new int[]{col};
+            }
+        }
+
+        long current = position.pieces(Position.BOT);
+        long mask = position.mask();
+        int moves = position.moveCount();
+
+        long[][] visits = new long[workers.length][COLS];
+        Future<?>[] helpers = new Future<?>[workers.length];
+        for (int i = 1; i < workers.length; i++) {
+            int index = i;
+            helpers[i] = helperPool.submit(() ->
+                    workers[index].search(current, mask, moves, playoutsPerThread, deadline, visits[index]));
+        }
+        workers[0].search(current, mask, moves, playoutsPerThread, deadline, visits[0]);
+        stop.flag.set(true);
+
+        for (int i = 1; i < workers.length; i++) {
+            try {
+                helpers[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+        }
+
+        // Most visited column over all trees, center first on ties
+        long[] total = new long[COLS];
+        for (int i = 0; i < workers.length; i++) {
+            lastPlayouts += workers[i].playouts();
+            for (int col = 0; col < COLS; col++) {
+                total[col] += visits[i][col];
+            }
+        }
+        int best = -1;
+        for (int col : MoveOrderer.CENTER_ORDER) {
+            if (position.canPlay(col) && (best < 0 || total[col] > total[best])) {
+                best = col;
+            }
+        }
+        return new int[]{best};
+    }
+}
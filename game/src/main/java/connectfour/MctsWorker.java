@@ -0,0 +1,199 @@
+package connectfour;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One thread's Monte Carlo tree. The tree lives in a pool of primitive arrays indexed by
+// node number, the children of a node are allocated next to each other, and playouts run
+// on raw bitboards (current player's pieces plus mask), so a search allocates nothing.
+class MctsWorker {
+    private static final int WIDTH = Position.WIDTH;
+    private static final int CELLS = Position.WIDTH * Position.HEIGHT;
+
+    // UCT exploration constant, for rewards scaled to 0..1
+    private static final double EXPLORATION = 1.0;
+
+    // How many playouts to run between clock checks
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+
+    // Node outcome known without playouts, from the side that moved into the node
+    private static final byte OPEN = 0;
+    private static final byte WON = 1;
+    private static final byte DRAWN = 2;
+
+    // Node pool. Rewards are in half points for the side that moved into the node:
+    // 2 for a win, 1 for a draw.
+    private final int capacity;
+    private final int[] firstChild;
+    private final byte[] childCount;
+    private final byte[] move;
+    private final byte[] terminal;
+    private final int[] visits;
+    private final long[] reward;
+    private int size;
+
+    private final AtomicBoolean stop;
+    private final int[] path = new int[CELLS + 1];
+    private long random;
+    private long playouts;
+
+    MctsWorker(int id, int capacity, AtomicBoolean stop) {
+        this.capacity = capacity;
+        this.stop = stop;
+        firstChild = new int[capacity];
+        childCount = new byte[capacity];
+        move = new byte[capacity];
+        terminal = new byte[capacity];
+        visits = new int[capacity];
+        reward = new long[capacity];
+        random = 0x9E3779B97F4A7C15L * (id + 1);
+    }
+
+    // Run playouts from the position until the budget is spent; returns the root visits per column
+    void search(long current, long mask, int moves, long maxPlayouts, long deadline, long[] columnVisits) {
+        size = 1;
+        reset(0, (byte) -1, OPEN);
+        playouts = 0;
+
+        while (playouts < maxPlayouts) {
+            if ((playouts & (CLOCK_CHECK_INTERVAL - 1)) == 0 && playouts > 0
+                    && (stop.get() || System.nanoTime() > deadline)) {
+                break;
+            }
+            iterate(current, mask, moves);
+            playouts++;
+        }
+
+        for (int i = 0; i < childCount[0]; i++) {
+            int child = firstChild[0] + i;
+            columnVisits[move[child]] += visits[child];
+        }
+    }
+
+    long playouts() {
+        return playouts;
+    }
+
+    // Select down to a leaf, expand it, play out and back up the result
+    private void iterate(long current, long mask, int moves) {
+        int node = 0;
+        int length = 0;
+        path[length++] = node;
+
+        while (childCount[node] > 0 && terminal[node] == OPEN) {
+            node = select(node);
+            path[length++] = node;
+            long cell = Position.possible(mask) & Position.columnMask(move[node]);
+            current ^= mask;
+            mask |= cell;
+            moves++;
+        }
+
+        // Score from the side to move at the leaf: 2 win, 1 draw, 0 loss
+        int result;
+        if (terminal[node] == WON) {
+            result = 0;
+        } else if (terminal[node] == DRAWN) {
+            result = 1;
+        } else {
+            if (size + WIDTH <= capacity) {
+                expand(node, current, mask, moves);
+            }
+            result = playout(current, mask, moves);
+        }
+
+        // The leaf's reward belongs to the side that moved into it, the opponent of the side to move
+        int points = 2 - result;
+        for (int i = length - 1; i >= 0; i--) {
+            int n = path[i];
+            visits[n]++;
+            reward[n] += points;
+            points = 2 - points;
+        }
+    }
+
+    private int select(int node) {
+        int first = firstChild[node];
+        int count = childCount[node];
+        double logVisits = Math.log(visits[node]);
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < first + count; child++) {
+            int n = visits[child];
+            if (n == 0) {
+                return child;
+            }
+            double value = reward[child] / (2.0 * n) + EXPLORATION * Math.sqrt(logVisits / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private void expand(int node, long current, long mask, int moves) {
+        long possible = Position.possible(mask);
+        long wins = Position.winningCells(current, mask) & possible;
+        int first = size;
+        for (int col : MoveOrderer.CENTER_ORDER) {
+            long cell = possible & Position.columnMask(col);
+            if (cell == 0) {
+                continue;
+            }
+            byte outcome = (wins & cell) != 0 ? WON : moves + 1 == CELLS ? DRAWN : OPEN;
+            reset(size++, (byte) col, outcome);
+        }
+        firstChild[node] = first;
+        childCount[node] = (byte) (size - first);
+    }
+
+    private void reset(int node, byte col, byte outcome) {
+        firstChild[node] = -1;
+        childCount[node] = 0;
+        move[node] = col;
+        terminal[node] = outcome;
+        visits[node] = 0;
+        reward[node] = 0;
+    }
+
+    // Random game from the position: take a win when there is one, block a single threat,
+    // otherwise play a random column. Returns 2, 1 or 0 for the side to move now.
+    private int playout(long current, long mask, int moves) {
+        int sign = 0;
+        while (moves < CELLS) {
+            long possible = Position.possible(mask);
+            if ((Position.winningCells(current, mask) & possible) != 0) {
+                return sign == 0 ? 2 : 0;
+            }
+
+            long threats = Position.winningCells(current ^ mask, mask) & possible;
+            long cell;
+            if (threats != 0) {
+                cell = Long.lowestOneBit(threats);
+            } else {
+                cell = randomCell(possible);
+            }
+            current ^= mask;
+            mask |= cell;
+            moves++;
+            sign ^= 1;
+        }
+        return 1;
+    }
+
+    private long randomCell(long possible) {
+        int count = Long.bitCount(possible);
+        int pick = (int) ((nextRandom() >>> 33) * count >>> 31);
+        for (int i = 0; i < pick; i++) {
+            possible &= possible - 1;
+        }
+        return Long.lowestOneBit(possible);
+    }
+
+    private long nextRandom() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return random;
+    }
+}
@@ -0,0 +1,33 @@
+package connectfour;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// Anything that can answer "which column?" for a board without holding up the caller.
+// The board is read before move returns, so the caller may change it right away. Cancelling
+// the returned future asks a running search to stop early.
+public interface MoveEngine extends Closeable {
+    String SIMPLE = "simple";
+
+    CompletableFuture<Integer> move(char[][] board, char symbol);
+
+    @Override
+    default void close() {
+    }
+
+    // An engine from a spec as SelfPlay takes them (see SearchEngine.searchers). "simple" answers
+    // on the calling thread, the others search on a thread of their own.
+    static MoveEngine create(String spec, BoardGeometry geometry, PositionCache positionCache,
+                             OpeningBook openingBook) {
+        if (spec.equals(SIMPLE)) {
+            return (board, symbol) -> CompletableFuture.completedFuture(ConnectFour.findSimpleMove(board, symbol));
+        }
+        return new SearchEngine(SearchEngine.searchers(spec, geometry, positionCache, openingBook));
+    }
+
+    // Answers within the deadline whatever the engine does, with findSimpleMove when it is late
+    static MoveEngine withDeadline(MoveEngine engine, Duration deadline) {
+        return new DeadlineEngine(engine, deadline);
+    }
+}
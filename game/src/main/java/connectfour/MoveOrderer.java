@@ -0,0 +1,75 @@
+package connectfour;
+
+// Orders the moves of a node so the likely refutation is tried first: the transposition
+// table move, then the two killer moves of the ply, then by history score, with the
+// static center-first order as the baseline and tie-breaker.
+class MoveOrderer {
+    // Center-first order of the standard board
+    static final int[] CENTER_ORDER = BoardGeometry.STANDARD.centerOrder;
+
+    private static final int NO_MOVE = TranspositionTable.NO_MOVE;
+
+    private final int[] centerOrder;
+    private final int[][] killers;
+    private final int[][] history;
+    private final int[][] scores;
+
+    MoveOrderer(BoardGeometry geometry) {
+        centerOrder = geometry.centerOrder;
+        killers = new int[geometry.cells()][2];
+        history = new int[2][geometry.columns()];
+        scores = new int[geometry.cells()][geometry.columns()];
+    }
+
+    // Called at the start of each search: forget the killers and age the history
+    void reset() {
+        for (int[] killer : killers) {
+            killer[0] = NO_MOVE;
+            killer[1] = NO_MOVE;
+        }
+        for (int[] sideHistory : history) {
+            for (int col = 0; col < sideHistory.length; col++) {
+                sideHistory[col] >>= 1;
+            }
+        }
+    }
+
+    // Fill moves with the allowed columns (bit c for column c) in search order and return how many there are
+    int order(int allowed, int ply, int side, int hashMove, int[] moves) {
+        int[] score = scores[ply];
+        int count = 0;
+
+        for (int col : centerOrder) {
+            if ((allowed & 1 << col) == 0) {
+                continue;
+            }
+
+            int value;
+            if (col == hashMove) value = Integer.MAX_VALUE;
+            else if (col == killers[ply][0]) value = Integer.MAX_VALUE - 1;
+            else if (col == killers[ply][1]) value = Integer.MAX_VALUE - 2;
+            else value = history[side][col];
+
+            // Insertion sort; equal scores keep the center-first order
+            int i = count++;
+            while (i > 0 && score[i - 1] < value) {
+                moves[i] = moves[i - 1];
+                score[i] = score[i - 1];
+                i--;
+            }
+            moves[i] = col;
+            score[i] = value;
+        }
+
+        return count;
+    }
+
+    // Remember a move that caused a cutoff
+    void cutoff(int ply, int side, int col, int remaining) {
+        if (killers[ply][0] != col) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = col;
+        }
+        history[side][col] += remaining * remaining;
+    }
+}
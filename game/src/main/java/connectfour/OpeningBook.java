@@ -0,0 +1,118 @@
+package connectfour;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Read-only opening book backed by a memory-mapped file.
+//
+// File layout (big-endian):
+//   int  magic ('C4BK')
+//   int  version
+//   int  plies the book was generated to
+//   int  entry count n
+//   long keys[n]   Position.canonicalKey() values, sorted ascending
+//   byte moves[n]  best column for the canonical (smaller key) side of the position
+// Keys are taken with the side to move as the bot, so the book answers for either color.
+public class OpeningBook {
+    static final String DEFAULT_PATH = "opening.book";
+    static final int MAGIC = 0x4334424B;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 16;
+
+    private final MappedByteBuffer buffer;
+    private final int plies;
+    private final int size;
+    private final int movesOffset;
+
+    private OpeningBook(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not an opening book file");
+        }
+        plies = buffer.getInt(8);
+        size = buffer.getInt(12);
+        movesOffset = HEADER_BYTES + size * Long.BYTES;
+        if (buffer.capacity() != movesOffset + size) {
+            throw new IllegalArgumentException("Opening book file is truncated");
+        }
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // The book at the path, or null when there is none; the bot then searches every move
+    static OpeningBook openIfPresent(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return open(path);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring opening book " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Best column for the position, or -1 if it is not in the book
+    public int lookup(Position position) {
+        if (position.moveCount() > plies) {
+            return -1;
+        }
+
+        long key = position.canonicalKey();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = buffer.getLong(HEADER_BYTES + mid * Long.BYTES);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                int move = buffer.get(movesOffset + mid);
+                return position.isMirrored() ? Position.mirrorColumn(move) : move;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int plies() {
+        return plies;
+    }
+
+    // Write entries to a book file; keys must already be sorted ascending
+    static void write(Path path, int plies, long[] keys, byte[] moves) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(plies).putInt(keys.length).flip();
+            writeFully(channel, header);
+
+            ByteBuffer keyBuffer = ByteBuffer.allocate(keys.length * Long.BYTES);
+            keyBuffer.asLongBuffer().put(keys);
+            writeFully(channel, keyBuffer);
+
+            writeFully(channel, ByteBuffer.wrap(moves));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
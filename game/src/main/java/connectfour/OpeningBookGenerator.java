@@ -0,0 +1,112 @@
+package connectfour;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Offline tool that deep-searches every position up to N plies and writes the best move
+// for the side to move to an opening book file, so the bot finds its moves there whether
+// it moves first or second.
+//
+// Usage: java -cp game/target/connect-four.jar connectfour.OpeningBookGenerator [plies] [depth] [output] [threads]
+public class OpeningBookGenerator {
+    private static final int DEFAULT_PLIES = 8;
+    private static final int DEFAULT_DEPTH = 12;
+
+    public static void main(String[] args) throws Exception {
+        int plies = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PLIES;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        Path output = Paths.get(args.length > 2 ? args[2] : OpeningBook.DEFAULT_PATH);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        List<String> positions = new ArrayList<>();
+        collect(new Position(), new StringBuilder(), plies, new HashSet<>(), positions);
+        System.out.printf("Searching %d positions up to %d plies at depth %d on %d threads%n",
+                positions.size(), plies, depth, threads);
+
+        long[][] entries = search(positions, depth, threads);
+
+        // Sort by key so the book can be binary searched
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+        long[] keys = new long[entries.length];
+        byte[] moves = new byte[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i][0];
+            moves[i] = (byte) entries[i][1];
+        }
+
+        OpeningBook.write(output, plies, keys, moves);
+        System.out.printf("Wrote %d entries to %s%n", keys.length, output);
+    }
+
+    // Depth-first walk over all games; keeps the first move sequence reaching each position.
+    // A position and its mirror image share one book entry.
+    private static void collect(Position position, StringBuilder moves, int plies, Set<Long> seen, List<String> out) {
+        int side = moves.length() % 2 == 0 ? Position.PLAYER : Position.BOT;
+        if (moves.length() > 0 && seen.add(position.canonicalKey())) {
+            out.add(moves.toString());
+        }
+        if (moves.length() >= plies) {
+            return;
+        }
+
+        for (int col = 0; col < Position.WIDTH; col++) {
+            // Finished games have no book move
+            if (!position.canPlay(col) || position.isWinningMove(col, side)) {
+                continue;
+            }
+            position.play(col, side);
+            moves.append((char) ('1' + col));
+            collect(position, moves, plies, seen, out);
+            moves.setLength(moves.length() - 1);
+            position.undo(col);
+        }
+    }
+
+    private static long[][] search(List<String> positions, int depth, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ThreadLocal<BotLogic> bots = ThreadLocal.withInitial(BotLogic::new);
+        AtomicInteger done = new AtomicInteger();
+        long[][] entries = new long[positions.size()][];
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < positions.size(); i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    // The first player is X; the book is keyed as the bot sees it, with the
+                    // side to move as the bot
+                    String moves = positions.get(index);
+                    char toMove = moves.length() % 2 == 0 ? 'X' : 'O';
+                    char[][] board = Position.fromMoves(moves).toBoard('O', 'X', ' ');
+                    Position position = Position.fromBoard(board, toMove, ' ');
+                    int col = bots.get().findBestMove(board, toMove, depth)[0];
+                    if (position.isMirrored()) {
+                        col = Position.mirrorColumn(col);
+                    }
+                    entries[index] = new long[]{position.canonicalKey(), col};
+
+                    int count = done.incrementAndGet();
+                    if (count % 1000 == 0) {
+                        System.out.printf("%d / %d%n", count, positions.size());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        return entries;
+    }
+}
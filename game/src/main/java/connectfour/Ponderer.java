@@ -0,0 +1,122 @@
+package connectfour;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Searches the bot's answers to the human's possible moves while the human is thinking.
+// A background thread asks the engine for each reply in center-first order; when the
+// human's column arrives the matching answer is handed over if it is ready and the
+// remaining work is cancelled. Either way the engine's tables are already warm.
+class Ponderer {
+    private static final char EMPTY = ' ';
+    private static final int NO_REPLY = -1;
+
+    private final MoveEngine engine;
+    private final int[] centerOrder;
+    private final char botSymbol;
+    private final int[] replies;
+
+    private volatile boolean cancelled;
+    private volatile CompletableFuture<Integer> current;
+    private Thread thread;
+
+    Ponderer(MoveEngine engine, BoardGeometry geometry, char botSymbol) {
+        this.engine = engine;
+        this.centerOrder = geometry.centerOrder;
+        this.botSymbol = botSymbol;
+        replies = new int[geometry.columns()];
+    }
+
+    // Start pondering on a snapshot of the board with the human to move
+    void start(char[][] board, char humanSymbol) {
+        char[][] snapshot = new char[board.length][];
+        for (int row = 0; row < board.length; row++) {
+            snapshot[row] = board[row].clone();
+        }
+        Arrays.fill(replies, NO_REPLY);
+        cancelled = false;
+
+        thread = new Thread(() -> ponder(snapshot, humanSymbol), "bot-ponder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Stop pondering and return the prepared reply to the human's column, or -1 if there is none
+    int take(int humanCol) {
+        if (thread == null) {
+            return NO_REPLY;
+        }
+        cancelled = true;
+        CompletableFuture<Integer> search = current;
+        if (search != null) {
+            search.cancel(true);
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        current = null;
+        return replies[humanCol];
+    }
+
+    private void ponder(char[][] board, char humanSymbol) {
+        for (int col : centerOrder) {
+            int row = nextEmptyRow(board, col);
+            if (row < 0) {
+                continue;
+            }
+
+            board[row][col] = humanSymbol;
+            // No reply needed when the human's move ends the game
+            boolean gameOver = ConnectFour.checkWin(board, row, col) || isFull(board);
+            int reply = NO_REPLY;
+            if (!gameOver && !cancelled) {
+                reply = search(board);
+            }
+            board[row][col] = EMPTY;
+
+            // A search cut short by the cancel is not worth keeping
+            if (cancelled) {
+                return;
+            }
+            replies[col] = reply;
+        }
+    }
+
+    private int search(char[][] board) {
+        CompletableFuture<Integer> search = engine.move(board, botSymbol);
+        current = search;
+        // take() may have looked for the search before it was published
+        if (cancelled) {
+            search.cancel(true);
+        }
+        try {
+            return search.join();
+        } catch (CancellationException | CompletionException e) {
+            // Cancelled, or the engine failed; the bot searches again on its turn
+            return NO_REPLY;
+        }
+    }
+
+    private static int nextEmptyRow(char[][] board, int col) {
+        for (int row = board.length - 1; row >= 0; row--) {
+            if (board[row][col] == EMPTY) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isFull(char[][] board) {
+        for (int col = 0; col < board[0].length; col++) {
+            if (board[0][col] == EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
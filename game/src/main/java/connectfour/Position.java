@@ -0,0 +1,429 @@
+package connectfour;
+
+// Bitboard position for every board that fits in a long (see BoardGeometry.fitsBitboard):
+// the standard 7x6 board and 8x7. The static constants and helpers are the standard board's
+// and serve the solver, the Monte Carlo search and the opening tools.
+public class Position implements GamePosition {
+    public static final int WIDTH = 7;
+    public static final int HEIGHT = 6;
+    public static final int BOT = 0;
+    public static final int PLAYER = 1;
+
+    // Each column uses HEIGHT + 1 bits so shifted alignments never wrap into the next column
+    private static final int H1 = HEIGHT + 1;
+    private static final long BOTTOM_MASK = BoardGeometry.STANDARD.bottomMask;
+    private static final long BOARD_MASK = BoardGeometry.STANDARD.boardMask;
+    private static final long COLUMN_BITS = (1L << H1) - 1;
+
+    // All 69 four-cell windows of the standard board as bitmasks, used by the evaluation
+    static final long[] WINDOWS = BoardGeometry.STANDARD.windowMasks;
+
+    // Score of a window indexed by [bot pieces][player pieces] in it, and the other evaluation
+    // weights, from the tuned weights file if there is one
+    static final int[][] WINDOW_SCORE = EvalWeights.ACTIVE.windowScores();
+    static final int CENTER_BONUS = EvalWeights.ACTIVE.get(EvalWeights.CENTER);
+
+    // Worth of a threat on a row that favours its owner, see threatParity
+    static final int PARITY_BONUS = EvalWeights.ACTIVE.get(EvalWeights.PARITY);
+
+    // The layout of this position's board, copied out of its geometry
+    private final BoardGeometry geometry;
+    private final int columns;
+    private final int rows;
+    private final int h1;
+    private final long bottomMask;
+    private final long boardMask;
+    private final int[][] cellWindows;
+    private final boolean[] centerColumn;
+
+    private final long[] pieces = new long[2];
+    private long mask;
+    private final int[] height;
+    private int moves;
+
+    // The bot's pieces and the mask of the left-right mirrored board, for the mirror key
+    private long mirrorBot;
+    private long mirrorMask;
+
+    // Evaluation kept up to date on every play and undo
+    private final byte[][] windowCounts;
+    private int score;
+
+    public Position() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    Position(BoardGeometry geometry) {
+        if (!geometry.fitsBitboard()) {
+            throw new IllegalArgumentException("A " + geometry + " board does not fit a bitboard");
+        }
+        this.geometry = geometry;
+        columns = geometry.columns();
+        rows = geometry.rows();
+        h1 = geometry.columnBits;
+        bottomMask = geometry.bottomMask;
+        boardMask = geometry.boardMask;
+        cellWindows = geometry.bitWindows;
+        centerColumn = geometry.centerColumn;
+        height = new int[columns];
+        windowCounts = new byte[2][geometry.windowMasks.length];
+    }
+
+    // Convert a char board (row 0 at the top) into a position seen from the bot's side
+    public static Position fromBoard(char[][] board, char botSymbol, char empty) {
+        return fromBoard(BoardGeometry.STANDARD, board, botSymbol, empty);
+    }
+
+    static Position fromBoard(BoardGeometry geometry, char[][] board, char botSymbol, char empty) {
+        Position position = new Position(geometry);
+        for (int col = 0; col < position.columns; col++) {
+            for (int row = position.rows - 1; row >= 0; row--) {
+                char piece = board[row][col];
+                if (piece == empty) {
+                    break;
+                }
+                position.play(col, piece == botSymbol ? BOT : PLAYER);
+            }
+        }
+        return position;
+    }
+
+    // Build a position from 1-based column digits, e.g. "4453". The player moves first.
+    public static Position fromMoves(String moves) {
+        Position position = new Position();
+        for (int i = 0; i < moves.length(); i++) {
+            int col = moves.charAt(i) - '1';
+            if (col < 0 || col >= WIDTH || !position.canPlay(col)) {
+                throw new IllegalArgumentException("Invalid move '" + moves.charAt(i) + "' at " + (i + 1));
+            }
+            position.play(col, i % 2 == 0 ? PLAYER : BOT);
+        }
+        return position;
+    }
+
+    public char[][] toBoard(char botSymbol, char playerSymbol, char empty) {
+        char[][] board = new char[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                long cell = 1L << (col * h1 + rows - 1 - row);
+                board[row][col] = (pieces[BOT] & cell) != 0 ? botSymbol
+                        : (pieces[PLAYER] & cell) != 0 ? playerSymbol
+                        : empty;
+            }
+        }
+        return board;
+    }
+
+    public Position copy() {
+        Position copy = new Position(geometry);
+        copy.pieces[BOT] = pieces[BOT];
+        copy.pieces[PLAYER] = pieces[PLAYER];
+        copy.mask = mask;
+        copy.mirrorBot = mirrorBot;
+        copy.mirrorMask = mirrorMask;
+        System.arraycopy(height, 0, copy.height, 0, columns);
+        copy.moves = moves;
+        System.arraycopy(windowCounts[BOT], 0, copy.windowCounts[BOT], 0, windowCounts[BOT].length);
+        System.arraycopy(windowCounts[PLAYER], 0, copy.windowCounts[PLAYER], 0, windowCounts[PLAYER].length);
+        copy.score = score;
+        return copy;
+    }
+
+    public boolean canPlay(int col) {
+        return height[col] < rows;
+    }
+
+    // Drop a piece for the given side, returns the row it landed on (0 = bottom)
+    public int play(int col, int side) {
+        int row = height[col]++;
+        int index = col * h1 + row;
+        long move = 1L << index;
+        pieces[side] |= move;
+        mask |= move;
+        long mirrored = 1L << ((columns - 1 - col) * h1 + row);
+        if (side == BOT) {
+            mirrorBot |= mirrored;
+        }
+        mirrorMask |= mirrored;
+        moves++;
+        updateScore(index, col, side, 1);
+        return row;
+    }
+
+    // Take back the top piece of the column
+    public void undo(int col) {
+        int index = col * h1 + --height[col];
+        long move = 1L << index;
+        int side = (pieces[BOT] & move) != 0 ? BOT : PLAYER;
+        pieces[side] &= ~move;
+        mask &= ~move;
+        long mirrored = 1L << ((columns - 1 - col) * h1 + height[col]);
+        mirrorBot &= ~mirrored;
+        mirrorMask &= ~mirrored;
+        moves--;
+        updateScore(index, col, side, -1);
+    }
+
+    // Static evaluation from the bot's point of view: window scores plus the center bonus
+    public int evaluate() {
+        return score;
+    }
+
+    private void updateScore(int index, int col, int side, int delta) {
+        byte[] bot = windowCounts[BOT];
+        byte[] player = windowCounts[PLAYER];
+        byte[] counts = windowCounts[side];
+        for (int window : cellWindows[index]) {
+            score -= WINDOW_SCORE[bot[window]][player[window]];
+            counts[window] += delta;
+            score += WINDOW_SCORE[bot[window]][player[window]];
+        }
+        if (side == BOT && centerColumn[col]) {
+            score += delta * CENTER_BONUS;
+        }
+    }
+
+    // The standard board takes the constant-shift helpers, which the JIT compiles tighter
+    public boolean isWin(int side) {
+        return h1 == H1 ? alignment(pieces[side]) : alignment(pieces[side], h1);
+    }
+
+    // Would playing this column complete four for the side?
+    public boolean isWinningMove(int col, int side) {
+        long move = 1L << (col * h1 + height[col]);
+        return h1 == H1 ? alignment(pieces[side] | move) : alignment(pieces[side] | move, h1);
+    }
+
+    // Bitmask of the cells where a piece can be dropped right now
+    public long possibleMoves() {
+        return (mask + bottomMask) & boardMask;
+    }
+
+    // Empty cells where one more piece of the side would complete four
+    public long winningCells(int side) {
+        return h1 == H1 ? winningCells(pieces[side], mask) : winningCells(pieces[side], mask, h1, boardMask);
+    }
+
+    public int winningColumns(int side) {
+        return columnBits(winningCells(side) & possibleMoves());
+    }
+
+    public int safeColumns(int side) {
+        long possible = possibleMoves();
+        long opponentWins = winningCells(side ^ 1);
+        long forced = possible & opponentWins;
+        if (forced != 0) {
+            if ((forced & (forced - 1)) != 0) {
+                // Two threats at once cannot both be blocked
+                return 0;
+            }
+            possible = forced;
+        }
+        return columnBits(possible & ~(opponentWins >> 1));
+    }
+
+    // Winning cells that cannot be played yet decide most endgames by zugzwang: the first
+    // player wants them on odd rows (1, 3, 5 counting from the bottom), the second player
+    // on even rows. Each such cell is worth PARITY_BONUS to its owner.
+    public int threatParity(int sideToMove) {
+        return PARITY_BONUS * threatBalance(sideToMove);
+    }
+
+    // The bot's well-placed threats minus the player's
+    int threatBalance(int sideToMove) {
+        int first = moves % 2 == 0 ? sideToMove : sideToMove ^ 1;
+        long pending = ~possibleMoves();
+        long oddRows = geometry.oddRowsMask;
+        long evenRows = geometry.evenRowsMask;
+        long botThreats = winningCells(BOT) & pending & (first == BOT ? oddRows : evenRows);
+        long playerThreats = winningCells(PLAYER) & pending & (first == PLAYER ? oddRows : evenRows);
+        return Long.bitCount(botThreats) - Long.bitCount(playerThreats);
+    }
+
+    // One bit per column that has a cell in the set
+    private int columnBits(long cells) {
+        int bits = 0;
+        for (; cells != 0; cells &= cells - 1) {
+            bits |= 1 << (h1 == H1 ? column(cells & -cells) : Long.numberOfTrailingZeros(cells) / h1);
+        }
+        return bits;
+    }
+
+    public boolean isFull() {
+        return moves == columns * rows;
+    }
+
+    public boolean isEmpty() {
+        return moves == 0;
+    }
+
+    public int moveCount() {
+        return moves;
+    }
+
+    public int height(int col) {
+        return height[col];
+    }
+
+    public long pieces(int side) {
+        return pieces[side];
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    // Unique key for the position: the bot's pieces plus the column heights
+    public long key() {
+        return pieces[BOT] + mask + bottomMask;
+    }
+
+    // Key of the left-right mirror image of the position
+    public long mirrorKey() {
+        return mirrorBot + mirrorMask + bottomMask;
+    }
+
+    // Same key for a position and its mirror image. When isMirrored() is true the canonical
+    // form is the mirror, so columns stored with the key must be mirrored too.
+    public long canonicalKey() {
+        return Math.min(key(), mirrorKey());
+    }
+
+    public boolean isMirrored() {
+        return mirrorKey() < key();
+    }
+
+    // A position equal to its mirror image: column c and its mirror lead to equivalent positions
+    public boolean isSymmetric() {
+        return mirrorKey() == key();
+    }
+
+    public static int mirrorColumn(int col) {
+        return WIDTH - 1 - col;
+    }
+
+    // Mirror any bitboard in this layout, e.g. a key, left to right
+    static long mirror(long bits) {
+        long mirrored = 0;
+        for (int col = 0; col < WIDTH; col++) {
+            mirrored |= ((bits >>> (col * H1)) & COLUMN_BITS) << ((WIDTH - 1 - col) * H1);
+        }
+        return mirrored;
+    }
+
+    public static boolean alignment(long pos) {
+        // Horizontal
+        long m = pos & (pos >> H1);
+        if ((m & (m >> (2 * H1))) != 0) return true;
+
+        // Diagonal (up-left)
+        m = pos & (pos >> HEIGHT);
+        if ((m & (m >> (2 * HEIGHT))) != 0) return true;
+
+        // Diagonal (up-right)
+        m = pos & (pos >> (H1 + 1));
+        if ((m & (m >> (2 * (H1 + 1)))) != 0) return true;
+
+        // Vertical
+        m = pos & (pos >> 1);
+        return (m & (m >> 2)) != 0;
+    }
+
+    // The same on a board with columns of h1 bits. The pieces never use a column's top
+    // bit, so the arithmetic shifts only ever bring in zeros.
+    static boolean alignment(long pos, int h1) {
+        // Horizontal
+        long m = pos & (pos >> h1);
+        if ((m & (m >> (2 * h1))) != 0) return true;
+
+        // Diagonal (up-left)
+        m = pos & (pos >> (h1 - 1));
+        if ((m & (m >> (2 * (h1 - 1)))) != 0) return true;
+
+        // Diagonal (up-right)
+        m = pos & (pos >> (h1 + 1));
+        if ((m & (m >> (2 * (h1 + 1)))) != 0) return true;
+
+        // Vertical
+        m = pos & (pos >> 1);
+        return (m & (m >> 2)) != 0;
+    }
+
+    static long possible(long mask) {
+        return (mask + BOTTOM_MASK) & BOARD_MASK;
+    }
+
+    static long winningCells(long pos, long mask) {
+        // Vertical
+        long r = (pos << 1) & (pos << 2) & (pos << 3);
+
+        // Horizontal
+        long p = (pos << H1) & (pos << (2 * H1));
+        r |= p & (pos << (3 * H1));
+        r |= p & (pos >> H1);
+        p = (pos >> H1) & (pos >> (2 * H1));
+        r |= p & (pos << H1);
+        r |= p & (pos >> (3 * H1));
+
+        // Diagonal (up-left)
+        p = (pos << HEIGHT) & (pos << (2 * HEIGHT));
+        r |= p & (pos << (3 * HEIGHT));
+        r |= p & (pos >> HEIGHT);
+        p = (pos >> HEIGHT) & (pos >> (2 * HEIGHT));
+        r |= p & (pos << HEIGHT);
+        r |= p & (pos >> (3 * HEIGHT));
+
+        // Diagonal (up-right)
+        p = (pos << (H1 + 1)) & (pos << (2 * (H1 + 1)));
+        r |= p & (pos << (3 * (H1 + 1)));
+        r |= p & (pos >> (H1 + 1));
+        p = (pos >> (H1 + 1)) & (pos >> (2 * (H1 + 1)));
+        r |= p & (pos << (H1 + 1));
+        r |= p & (pos >> (3 * (H1 + 1)));
+
+        return r & (BOARD_MASK ^ mask);
+    }
+
+    // The same on a board with columns of h1 bits
+
+    static long winningCells(long pos, long mask, int h1, long boardMask) {
+        // Vertical
+        long r = (pos << 1) & (pos << 2) & (pos << 3);
+
+        // Horizontal
+        long p = (pos << h1) & (pos << (2 * h1));
+        r |= p & (pos << (3 * h1));
+        r |= p & (pos >> h1);
+        p = (pos >> h1) & (pos >> (2 * h1));
+        r |= p & (pos << h1);
+        r |= p & (pos >> (3 * h1));
+
+        // Diagonal (up-left)
+        int d = h1 - 1;
+        p = (pos << d) & (pos << (2 * d));
+        r |= p & (pos << (3 * d));
+        r |= p & (pos >> d);
+        p = (pos >> d) & (pos >> (2 * d));
+        r |= p & (pos << d);
+        r |= p & (pos >> (3 * d));
+
+        // Diagonal (up-right)
+        d = h1 + 1;
+        p = (pos << d) & (pos << (2 * d));
+        r |= p & (pos << (3 * d));
+        r |= p & (pos >> d);
+        p = (pos >> d) & (pos >> (2 * d));
+        r |= p & (pos << d);
+        r |= p & (pos >> (3 * d));
+
+        return r & (boardMask ^ mask);
+    }
+
+    static long columnMask(int col) {
+        return ((1L << HEIGHT) - 1) << (col * H1);
+    }
+
+    public static int column(long cell) {
+        return Long.numberOfTrailingZeros(cell) / H1;
+    }
+}
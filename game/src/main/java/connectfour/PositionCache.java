@@ -0,0 +1,453 @@
+package connectfour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Results of solved and deep-searched root positions, kept on disk across restarts and
+// shared by every bot that uses the cache. A position and its mirror image share an entry
+// under the canonical key, with the move stored for the canonical side.
+//
+// The cache is a sorted base file, memory mapped and binary searched, plus a journal that
+// new results are appended to by a background thread. Results still in the journal are
+// also held in memory. Once the journal reaches a quarter of the capacity the writer
+// compacts: base and journal are merged, entries older than the maximum age are dropped,
+// the least recently used entries go until the cache fits its capacity, and the merged
+// entries become the new base. Lookups refresh an entry's last-used time in place.
+// Both files are opened lazily on the first lookup or store.
+//
+// Searched scores depend on the evaluation weights, so each file records the hash of the
+// weights its entries were scored under. Under other weights only the solved entries of a
+// file are used, and the rest are dropped when the file is next rewritten.
+//
+// File layout of the base and the journal (big-endian):
+//   int  magic ('C4PC')
+//   int  version
+//   int  record size in bytes
+//   int  hash of the evaluation weights (EvalWeights.hash)
+//   records of 16 bytes: long key, int last used (epoch minutes), short score, byte move, byte depth
+public class PositionCache implements Closeable {
+    // Depth recorded for exact results from the solver
+    public static final int SOLVED = Byte.MAX_VALUE;
+
+    static final int MAGIC = 0x43345043;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 16;
+
+    static final String DEFAULT_PATH = "positions.c4cache";
+    private static final int DEFAULT_CAPACITY = 1 << 20;
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofDays(30);
+
+    // Results waiting for the writer; new results are dropped rather than block a search
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final Entry CLOSE = new Entry(0, 0, 0, 0, 0);
+
+    public static final class Entry {
+        private final long key;
+        private final short score;
+        private final byte move;
+        private final byte depth;
+        private volatile int lastUsed;
+
+        Entry(long key, int score, int move, int depth, int lastUsed) {
+            this.key = key;
+            this.score = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, score));
+            this.move = (byte) move;
+            this.depth = (byte) depth;
+            this.lastUsed = lastUsed;
+        }
+
+        public int move() {
+            return move;
+        }
+
+        public int score() {
+            return score;
+        }
+
+        public int depth() {
+            return depth;
+        }
+
+        public boolean isSolved() {
+            return depth == SOLVED;
+        }
+
+        // The same result seen from the mirrored board
+        Entry mirrored() {
+            return new Entry(key, score, Position.mirrorColumn(move), depth, lastUsed);
+        }
+    }
+
+    private final Path basePath;
+    private final Path journalPath;
+    private final int capacity;
+    private final long maxAgeMinutes;
+    private final int weightsHash = EvalWeights.ACTIVE.hash();
+
+    private final Map<Long, Entry> journaled = new ConcurrentHashMap<>();
+    private final BlockingQueue<Entry> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private volatile ByteBuffer base;
+    private volatile boolean loaded;
+    private FileChannel journal;
+    private long journalEnd;
+    private int journalCount;
+    private Thread writer;
+
+    // Why the writer stopped early, reported by close
+    private volatile IOException writeFailure;
+
+    public PositionCache(Path path) {
+        this(path, DEFAULT_CAPACITY, DEFAULT_MAX_AGE);
+    }
+
+    public PositionCache(Path path, int capacity, Duration maxAge) {
+        if (capacity < 1 || (long) capacity * RECORD_BYTES > Integer.MAX_VALUE - HEADER_BYTES) {
+            throw new IllegalArgumentException("Cache capacity out of range: " + capacity);
+        }
+        this.basePath = path;
+        this.journalPath = Paths.get(path + ".journal");
+        this.capacity = capacity;
+        this.maxAgeMinutes = maxAge.toMinutes();
+    }
+
+    // Cached result for the position with the bot to move, or null
+    public Entry lookup(Position position) {
+        load();
+        long key = position.canonicalKey();
+        int now = nowMinutes();
+
+        Entry entry = journaled.get(key);
+        if (entry != null) {
+            entry.lastUsed = now;
+            return position.isMirrored() ? entry.mirrored() : entry;
+        }
+
+        ByteBuffer buffer = base;
+        int low = 0;
+        int high = size(buffer) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = HEADER_BYTES + mid * RECORD_BYTES;
+            long midKey = buffer.getLong(offset);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                if (buffer.get(offset + 15) != SOLVED && !sameWeights(buffer)) {
+                    return null;
+                }
+                // Touch the page only when the minute changed
+                if (buffer.getInt(offset + 8) != now) {
+                    buffer.putInt(offset + 8, now);
+                }
+                entry = read(buffer, offset);
+                return position.isMirrored() ? entry.mirrored() : entry;
+            }
+        }
+        return null;
+    }
+
+    // Remember a result; it is written to disk in the background
+    public void store(Position position, int move, int score, int depth) {
+        load();
+        int canonicalMove = position.isMirrored() ? Position.mirrorColumn(move) : move;
+        Entry entry = new Entry(position.canonicalKey(), score, canonicalMove, depth, nowMinutes());
+        journaled.merge(entry.key, entry, PositionCache::better);
+        if (writer != null && writeFailure == null) {
+            pending.offer(entry);
+        } else if (journaled.size() > capacity) {
+            // No writer compacts the entries away, so the memory cache keeps to the capacity itself
+            trimJournaled();
+        }
+    }
+
+    // Drops the least recently used quarter of the entries held in memory
+    private synchronized void trimJournaled() {
+        if (journaled.size() <= capacity) {
+            return;
+        }
+        Entry[] entries = journaled.values().toArray(new Entry[0]);
+        // Sort on a snapshot of the last-used times, which lookups keep changing
+        long[] order = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            order[i] = (long) entries[i].lastUsed << 32 | i;
+        }
+        Arrays.sort(order);
+        int drop = entries.length - (capacity - capacity / 4);
+        for (int i = 0; i < drop; i++) {
+            Entry entry = entries[(int) order[i]];
+            journaled.remove(entry.key, entry);
+        }
+    }
+
+    // Entries currently in the base file and the journal, counting duplicates once per file
+    public int size() {
+        load();
+        return size(base) + journaled.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (!loaded || writer == null) {
+                return;
+            }
+        }
+        try {
+            // A writer that died on a disk error no longer drains the queue, so only wait
+            // for room while it is alive
+            while (writer.isAlive() && !pending.offer(CLOSE, 100, TimeUnit.MILLISECONDS)) {
+                // Retry until the writer takes some entries or stops
+            }
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            journal.close();
+            writer = null;
+        }
+        if (writeFailure != null) {
+            throw new IOException("Position cache stopped writing: " + writeFailure, writeFailure);
+        }
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            try {
+                base = Files.exists(basePath) ? mapBase() : emptyBase();
+                openJournal();
+            } catch (IOException | IllegalArgumentException e) {
+                // A cache that cannot be opened stays in memory only, within its capacity; the bot
+                // works without it
+                System.err.println("Position cache not persisted: " + e.getMessage());
+                base = emptyBase();
+                loaded = true;
+                return;
+            }
+
+            writer = new Thread(this::writeLoop, "position-cache-writer");
+            writer.setDaemon(true);
+            writer.start();
+            loaded = true;
+        }
+    }
+
+    private ByteBuffer mapBase() throws IOException {
+        try (FileChannel channel = FileChannel.open(basePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            checkHeader(buffer);
+            return buffer;
+        }
+    }
+
+    private static ByteBuffer emptyBase() {
+        return ByteBuffer.allocate(HEADER_BYTES);
+    }
+
+    private void openJournal() throws IOException {
+        journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long length = journal.size();
+        if (length < HEADER_BYTES) {
+            resetJournal();
+            return;
+        }
+
+        ByteBuffer contents = ByteBuffer.allocate((int) length);
+        while (contents.hasRemaining() && journal.read(contents, contents.position()) >= 0) {
+            // Keep reading until the buffer is full
+        }
+        checkHeader(contents);
+        boolean sameWeights = sameWeights(contents);
+
+        // A record cut short by a crash is dropped and overwritten by the next append
+        journalCount = (int) ((length - HEADER_BYTES) / RECORD_BYTES);
+        journalEnd = HEADER_BYTES + (long) journalCount * RECORD_BYTES;
+        for (int i = 0; i < journalCount; i++) {
+            Entry entry = read(contents, HEADER_BYTES + i * RECORD_BYTES);
+            if (sameWeights || entry.isSolved()) {
+                journaled.merge(entry.key, entry, PositionCache::better);
+            }
+        }
+
+        // Start over under the current weights with what still holds
+        if (!sameWeights) {
+            resetJournal();
+            ByteBuffer records = ByteBuffer.allocate(journaled.size() * RECORD_BYTES);
+            for (Entry entry : journaled.values()) {
+                write(records, entry);
+            }
+            records.flip();
+            writeFully(journal, records, journalEnd);
+            journalEnd += records.limit();
+            journalCount = journaled.size();
+        }
+    }
+
+    private void resetJournal() throws IOException {
+        journal.truncate(0);
+        writeFully(journal, header(), 0);
+        journalEnd = HEADER_BYTES;
+        journalCount = 0;
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>();
+        try {
+            while (true) {
+                if (journalCount >= capacity / 4) {
+                    compact();
+                }
+
+                batch.clear();
+                batch.add(pending.take());
+                pending.drainTo(batch);
+                boolean closing = batch.remove(CLOSE);
+
+                ByteBuffer records = ByteBuffer.allocate(batch.size() * RECORD_BYTES);
+                for (Entry entry : batch) {
+                    write(records, entry);
+                }
+                records.flip();
+                writeFully(journal, records, journalEnd);
+                journalEnd += records.limit();
+                journalCount += batch.size();
+
+                if (closing) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Without a working disk the cache keeps serving what it has in memory
+            writeFailure = e;
+            System.err.println("Position cache stopped writing: " + e.getMessage());
+        }
+    }
+
+    private void compact() throws IOException {
+        int oldest = (int) Math.max(0, nowMinutes() - maxAgeMinutes);
+        Map<Long, Entry> merged = new HashMap<>();
+
+        ByteBuffer current = base;
+        boolean sameWeights = sameWeights(current);
+        for (int i = 0; i < size(current); i++) {
+            Entry entry = read(current, HEADER_BYTES + i * RECORD_BYTES);
+            if (entry.lastUsed >= oldest && (sameWeights || entry.isSolved())) {
+                merged.merge(entry.key, entry, PositionCache::better);
+            }
+        }
+        List<Entry> recent = new ArrayList<>(journaled.values());
+        for (Entry entry : recent) {
+            if (entry.lastUsed >= oldest) {
+                merged.merge(entry.key, entry, PositionCache::better);
+            }
+        }
+
+        // Over capacity the least recently used entries go first
+        Entry[] entries = merged.values().toArray(new Entry[0]);
+        if (entries.length > capacity) {
+            Arrays.sort(entries, Comparator.comparingInt((Entry entry) -> entry.lastUsed).reversed());
+            entries = Arrays.copyOf(entries, capacity);
+        }
+        Arrays.sort(entries, Comparator.comparingLong((Entry entry) -> entry.key));
+
+        ByteBuffer contents = ByteBuffer.allocate(HEADER_BYTES + entries.length * RECORD_BYTES);
+        contents.put(header());
+        for (Entry entry : entries) {
+            write(contents, entry);
+        }
+        contents.flip();
+
+        Path temp = Paths.get(basePath + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, contents, 0);
+            channel.force(false);
+        }
+        Files.move(temp, basePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        base = mapBase();
+
+        // Results stored while compacting stay in memory and reach the next journal
+        resetJournal();
+        for (Entry entry : recent) {
+            journaled.remove(entry.key, entry);
+        }
+    }
+
+    // Solved beats searched, deeper beats shallower, and the later use is kept
+    private static Entry better(Entry a, Entry b) {
+        Entry best = b.depth > a.depth ? b : a;
+        best.lastUsed = Math.max(a.lastUsed, b.lastUsed);
+        return best;
+    }
+
+    private static int size(ByteBuffer buffer) {
+        return (buffer.capacity() - HEADER_BYTES) / RECORD_BYTES;
+    }
+
+    private static Entry read(ByteBuffer buffer, int offset) {
+        return new Entry(buffer.getLong(offset), buffer.getShort(offset + 12), buffer.get(offset + 14),
+                buffer.get(offset + 15), buffer.getInt(offset + 8));
+    }
+
+    private static void write(ByteBuffer buffer, Entry entry) {
+        buffer.putLong(entry.key).putInt(entry.lastUsed).putShort(entry.score).put(entry.move).put(entry.depth);
+    }
+
+    private ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(weightsHash).flip();
+        return header;
+    }
+
+    private boolean sameWeights(ByteBuffer buffer) {
+        return buffer.getInt(12) == weightsHash;
+    }
+
+    private static void checkHeader(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != RECORD_BYTES) {
+            throw new IllegalArgumentException("Not a position cache file");
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int nowMinutes() {
+        return (int) (System.currentTimeMillis() / 60_000);
+    }
+}
@@ -0,0 +1,162 @@
+package connectfour;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+// Runs a synchronous search on an executor and hands back its move as a future. Searchers
+// keep tables between moves, so every executor thread gets its own. Cancelling a move stops
+// its search, which then returns its best move so far; that result is dropped. The stop is
+// tied to that one search, so it holds however early the cancel comes and a late one never
+// reaches the next move's search.
+public final class SearchEngine implements MoveEngine {
+    // A search that runs on the calling thread and can be asked to finish early from another
+    public interface Searcher {
+        int search(char[][] board, char symbol);
+
+        // Stops the next search, whether run before it starts, while it runs or after it ended
+        default Runnable stopperForNextSearch() {
+            return () -> {
+            };
+        }
+    }
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final ThreadLocal<Searcher> searchers;
+
+    // Search on a thread of the engine's own, with a single searcher whose tables stay warm
+    public SearchEngine(Supplier<Searcher> searchers) {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "move-engine");
+            thread.setDaemon(true);
+            return thread;
+        }), true, searchers);
+    }
+
+    // Search on a shared pool; a full pool fails the move with a RejectedExecutionException
+    public SearchEngine(ExecutorService pool, Supplier<Searcher> searchers) {
+        this(pool, false, searchers);
+    }
+
+    private SearchEngine(ExecutorService executor, boolean ownsExecutor, Supplier<Searcher> searchers) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.searchers = ThreadLocal.withInitial(searchers);
+    }
+
+    @Override
+    public CompletableFuture<Integer> move(char[][] board, char symbol) {
+        char[][] snapshot = new char[board.length][];
+        for (int row = 0; row < board.length; row++) {
+            snapshot[row] = board[row].clone();
+        }
+
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(snapshot, symbol, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void run(char[][] board, char symbol, CompletableFuture<Integer> result) {
+        // Cancelled or timed out while queued
+        if (result.isDone()) {
+            return;
+        }
+        Searcher searcher = searchers.get();
+        Runnable stop = searcher.stopperForNextSearch();
+        result.whenComplete((col, error) -> stop.run());
+        try {
+            result.complete(searcher.search(board, symbol));
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    // Stops the engine's own thread; a shared pool belongs to whoever made it
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Engines: "simple" (findSimpleMove), "bot" (BotLogic defaults), "depth:N" (fixed depth),
+    // "time:MS" (iterative deepening with a per-move budget), "mcts:MS" (MCTS with a per-move
+    // budget) and "playouts:N" (MCTS with a fixed number of playouts). The spec is checked
+    // here; each call of the supplier builds a new searcher. The alpha-beta searchers use the
+    // position cache and the opening book when they are given.
+    public static Supplier<Searcher> searchers(String spec, BoardGeometry geometry, PositionCache positionCache,
+                                               OpeningBook openingBook) {
+        if (spec.equals(MoveEngine.SIMPLE)) {
+            return () -> ConnectFour::findSimpleMove;
+        }
+        if (spec.equals("bot")) {
+            return () -> {
+                BotLogic bot = bot(geometry, positionCache, openingBook);
+                return searcher(bot::stopperForNextSearch, bot::getColumnMove);
+            };
+        }
+        if (spec.startsWith("depth:")) {
+            int depth = Integer.parseInt(spec.substring("depth:".length()));
+            return () -> {
+                BotLogic bot = bot(geometry, positionCache, openingBook);
+                return searcher(bot::stopperForNextSearch, (board, symbol) -> bot.findBestMove(board, symbol, depth)[0]);
+            };
+        }
+        if (spec.startsWith("time:")) {
+            Duration budget = Duration.ofMillis(Long.parseLong(spec.substring("time:".length())));
+            return () -> {
+                BotLogic bot = bot(geometry, positionCache, openingBook);
+                return searcher(bot::stopperForNextSearch, (board, symbol) -> bot.findBestMove(board, symbol, budget)[0]);
+            };
+        }
+        if (spec.startsWith("mcts:") || spec.startsWith("playouts:")) {
+            if (!geometry.isStandard()) {
+                throw new IllegalArgumentException("Monte Carlo search only plays the standard board");
+            }
+        }
+        if (spec.startsWith("mcts:")) {
+            Duration budget = Duration.ofMillis(Long.parseLong(spec.substring("mcts:".length())));
+            return () -> {
+                MctsBot bot = new MctsBot();
+                return searcher(bot::stopperForNextSearch, (board, symbol) -> bot.findBestMove(board, symbol, budget)[0]);
+            };
+        }
+        if (spec.startsWith("playouts:")) {
+            int playouts = Integer.parseInt(spec.substring("playouts:".length()));
+            return () -> {
+                MctsBot bot = new MctsBot();
+                return searcher(bot::stopperForNextSearch, (board, symbol) -> bot.findBestMove(board, symbol, playouts)[0]);
+            };
+        }
+        throw new IllegalArgumentException("Unknown engine: " + spec);
+    }
+
+    private static BotLogic bot(BoardGeometry geometry, PositionCache positionCache, OpeningBook openingBook) {
+        BotLogic bot = new BotLogic(geometry);
+        bot.setPositionCache(positionCache);
+        bot.setOpeningBook(openingBook);
+        return bot;
+    }
+
+    private static Searcher searcher(Supplier<Runnable> stopper, Searcher search) {
+        return new Searcher() {
+            @Override
+            public int search(char[][] board, char symbol) {
+                return search.search(board, symbol);
+            }
+
+            @Override
+            public Runnable stopperForNextSearch() {
+                return stopper.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package connectfour;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for one findBestMove call. Costs next to nothing unless a
+// recording enables connectfour.Search.
+@Name("connectfour.Search")
+@Label("Bot Search")
+@Category("Connect Four")
+@Description("One move search by the bot")
+@StackTrace(false)
+class SearchEvent extends Event {
+    @Label("Source")
+    String source;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Leaf Evaluations")
+    long leafEvaluations;
+
+    @Label("Cutoff Rate")
+    double cutoffRate;
+
+    @Label("First Move Cutoff Rate")
+    double firstMoveCutoffRate;
+
+    @Label("Table Hit Rate")
+    double tableHitRate;
+
+    @Label("Threads")
+    int threads;
+
+    @Label("Move")
+    int move;
+}
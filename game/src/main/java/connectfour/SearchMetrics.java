@@ -0,0 +1,180 @@
+package connectfour;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Process-wide totals over all searches. Bots on many threads record into the same
+// instance, so the counters are LongAdders to keep contention off the search path.
+// Registered with the platform MBean server as connectfour:type=SearchMetrics.
+public final class SearchMetrics implements SearchMetricsMXBean {
+    private static final String OBJECT_NAME = "connectfour:type=SearchMetrics";
+    private static final SearchMetrics GLOBAL = register(new SearchMetrics());
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder bookMoves = new LongAdder();
+    private final LongAdder cacheMoves = new LongAdder();
+    private final LongAdder forcedMoves = new LongAdder();
+    private final LongAdder solverMoves = new LongAdder();
+    private final LongAdder depthSum = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder leafEvaluations = new LongAdder();
+    private final LongAdder expandedNodes = new LongAdder();
+    private final LongAdder cutoffs = new LongAdder();
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+    private final LongAdder tableProbes = new LongAdder();
+    private final LongAdder tableHits = new LongAdder();
+    private final LongAdder wallNanos = new LongAdder();
+    private final LongAdder fallbackMoves = new LongAdder();
+
+    public static SearchMetrics global() {
+        return GLOBAL;
+    }
+
+    private static SearchMetrics register(SearchMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // Metrics still count without JMX, they are just not published
+        }
+        return metrics;
+    }
+
+    void record(SearchStats stats) {
+        searches.increment();
+        switch (stats.getSource()) {
+            case BOOK:
+                bookMoves.increment();
+                break;
+            case CACHE:
+                cacheMoves.increment();
+                break;
+            case FORCED:
+                forcedMoves.increment();
+                break;
+            case SOLVER:
+                solverMoves.increment();
+                break;
+            default:
+                depthSum.add(stats.getDepth());
+                break;
+        }
+        nodes.add(stats.getNodes());
+        leafEvaluations.add(stats.getLeafEvaluations());
+        expandedNodes.add(stats.getExpandedNodes());
+        cutoffs.add(stats.getCutoffs());
+        firstMoveCutoffs.add(stats.getFirstMoveCutoffs());
+        tableProbes.add(stats.getTableProbes());
+        tableHits.add(stats.getTableHits());
+        wallNanos.add(stats.getWallNanos());
+    }
+
+    // A move engine missed its deadline or failed, and findSimpleMove answered instead
+    void recordFallbackMove() {
+        fallbackMoves.increment();
+    }
+
+    @Override
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    @Override
+    public long getBookMoves() {
+        return bookMoves.sum();
+    }
+
+    @Override
+    public long getCacheMoves() {
+        return cacheMoves.sum();
+    }
+
+    // Share of all searches answered from the position cache
+    @Override
+    public double getCacheHitRate() {
+        long count = searches.sum();
+        return count == 0 ? 0 : (double) cacheMoves.sum() / count;
+    }
+
+    @Override
+    public long getForcedMoves() {
+        return forcedMoves.sum();
+    }
+
+    @Override
+    public long getSolverMoves() {
+        return solverMoves.sum();
+    }
+
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    @Override
+    public long getLeafEvaluations() {
+        return leafEvaluations.sum();
+    }
+
+    @Override
+    public double getNodesPerSecond() {
+        long nanos = wallNanos.sum();
+        return nanos == 0 ? 0 : nodes.sum() * 1e9 / nanos;
+    }
+
+    // Average over the heuristic searches only; book, cached, forced and solved moves have no depth
+    @Override
+    public double getAverageDepth() {
+        long searched = searches.sum() - bookMoves.sum() - cacheMoves.sum() - forcedMoves.sum() - solverMoves.sum();
+        return searched <= 0 ? 0 : (double) depthSum.sum() / searched;
+    }
+
+    @Override
+    public double getAverageWallTimeMillis() {
+        long count = searches.sum();
+        return count == 0 ? 0 : wallNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getCutoffRate() {
+        long expanded = expandedNodes.sum();
+        return expanded == 0 ? 0 : (double) cutoffs.sum() / expanded;
+    }
+
+    @Override
+    public double getFirstMoveCutoffRate() {
+        long total = cutoffs.sum();
+        return total == 0 ? 0 : (double) firstMoveCutoffs.sum() / total;
+    }
+
+    @Override
+    public double getTableHitRate() {
+        long probes = tableProbes.sum();
+        return probes == 0 ? 0 : (double) tableHits.sum() / probes;
+    }
+
+    @Override
+    public long getFallbackMoves() {
+        return fallbackMoves.sum();
+    }
+
+    @Override
+    public void reset() {
+        searches.reset();
+        bookMoves.reset();
+        cacheMoves.reset();
+        forcedMoves.reset();
+        solverMoves.reset();
+        depthSum.reset();
+        nodes.reset();
+        leafEvaluations.reset();
+        expandedNodes.reset();
+        cutoffs.reset();
+        firstMoveCutoffs.reset();
+        tableProbes.reset();
+        tableHits.reset();
+        wallNanos.reset();
+        fallbackMoves.reset();
+    }
+}
@@ -0,0 +1,36 @@
+package connectfour;
+
+// Cumulative search counters of every bot in the process, published over JMX
+public interface SearchMetricsMXBean {
+    long getSearches();
+
+    long getBookMoves();
+
+    long getCacheMoves();
+
+    double getCacheHitRate();
+
+    long getForcedMoves();
+
+    long getSolverMoves();
+
+    long getNodes();
+
+    long getLeafEvaluations();
+
+    double getNodesPerSecond();
+
+    double getAverageDepth();
+
+    double getAverageWallTimeMillis();
+
+    double getCutoffRate();
+
+    double getFirstMoveCutoffRate();
+
+    double getTableHitRate();
+
+    long getFallbackMoves();
+
+    void reset();
+}
@@ -0,0 +1,61 @@
+package connectfour;
+
+// Measures how the parallel search scales: every suite position is searched to a fixed
+// depth with 1..N threads and the time to depth is compared against the single thread run.
+public class SearchSpeedup {
+    private static final String[] POSITIONS = {
+        "4",
+        "445",
+        "44444",
+        "4435536",
+        "432511766",
+        "44443335211",
+        "4445555422166",
+    };
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int tableSizeMb = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        System.out.printf("depth %d, table %d MB%n", depth, tableSizeMb);
+        System.out.println("threads    time(ms)    nodes        nodes/s      speedup");
+
+        // Warm up the JIT so the single thread baseline is not penalised
+        runSuite(1, depth, tableSizeMb);
+
+        double baseline = 0;
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            long[] result = runSuite(threads, depth, tableSizeMb);
+            long nanos = result[0];
+            long nodes = result[1];
+
+            double millis = nanos / 1e6;
+            if (threads == 1) {
+                baseline = millis;
+            }
+            System.out.printf("%-10d %-11.1f %-12d %-12.0f %.2f%n",
+                    threads, millis, nodes, nodes / (nanos / 1e9), baseline / millis);
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+
+    // Returns the total time in nanoseconds and the total node count
+    private static long[] runSuite(int threads, int depth, int tableSizeMb) {
+        long nanos = 0;
+        long nodes = 0;
+        for (String moves : POSITIONS) {
+            // Fresh bot each time so no run profits from a table warmed up by another
+            BotLogic bot = new BotLogic(tableSizeMb, threads);
+            char[][] board = Position.fromMoves(moves).toBoard('O', 'X', ' ');
+            long start = System.nanoTime();
+            bot.findBestMove(board, 'O', depth);
+            nanos += System.nanoTime() - start;
+            nodes += bot.getLastNodeCount();
+            bot.shutdown();
+        }
+        return new long[]{nanos, nodes};
+    }
+}
@@ -0,0 +1,102 @@
+package connectfour;
+
+// What one findBestMove call did. Counters are summed over all search threads;
+// moves answered from the book, the position cache or by a forced win/block report no search work.
+public final class SearchStats {
+    public enum Source { BOOK, CACHE, FORCED, SOLVER, SEARCH }
+
+    static final SearchStats NONE = new SearchStats(Source.FORCED, -1, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final Source source;
+    private final int depth;
+    private final long nodes;
+    private final long leafEvaluations;
+    private final long expandedNodes;
+    private final long cutoffs;
+    private final long firstMoveCutoffs;
+    private final long tableProbes;
+    private final long tableHits;
+    private final long wallNanos;
+
+    SearchStats(Source source, int depth, long nodes, long leafEvaluations, long expandedNodes,
+                long cutoffs, long firstMoveCutoffs, long tableProbes, long tableHits, long wallNanos) {
+        this.source = source;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.leafEvaluations = leafEvaluations;
+        this.expandedNodes = expandedNodes;
+        this.cutoffs = cutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+        this.tableProbes = tableProbes;
+        this.tableHits = tableHits;
+        this.wallNanos = wallNanos;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    // Deepest iteration completed, -1 when nothing was searched
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getLeafEvaluations() {
+        return leafEvaluations;
+    }
+
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public double getNodesPerSecond() {
+        return wallNanos == 0 ? 0 : nodes * 1e9 / wallNanos;
+    }
+
+    // Share of expanded nodes that ended in a cutoff
+    public double getCutoffRate() {
+        return expandedNodes == 0 ? 0 : (double) cutoffs / expandedNodes;
+    }
+
+    // Share of cutoffs that the first ordered move produced
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    // Share of table probes that found an entry from the current search
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0 : (double) tableHits / tableProbes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s depth %d, %d nodes in %.3f ms (%.0f nodes/s), %d leaves, "
+                        + "cutoff rate %.3f, first move %.3f, table hits %.3f",
+                source, depth, nodes, wallNanos / 1e6, getNodesPerSecond(), leafEvaluations,
+                getCutoffRate(), getFirstMoveCutoffRate(), getTableHitRate());
+    }
+}
@@ -0,0 +1,33 @@
+package connectfour;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The stop flag of a bot's searches, which run one at a time and are numbered as they start.
+// A stopper taken before a search stops that search alone: a stop that comes before the
+// search starts is kept for it, and one that comes after it ended leaves the next alone.
+final class SearchStop {
+    // Polled by the workers; the bot also raises it itself to call in its helpers
+    final AtomicBoolean flag = new AtomicBoolean();
+
+    private long started;
+    private long stopped;
+
+    // The search thread calls this first thing in every search
+    synchronized void start() {
+        started++;
+        flag.set(stopped == started);
+    }
+
+    // Stops the next search to start, before or while it runs
+    synchronized Runnable nextSearch() {
+        long search = started + 1;
+        return () -> stop(search);
+    }
+
+    private synchronized void stop(long search) {
+        stopped = Math.max(stopped, search);
+        if (search == started) {
+            flag.set(true);
+        }
+    }
+}
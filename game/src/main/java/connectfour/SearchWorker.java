@@ -0,0 +1,310 @@
+package connectfour;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One search thread's state. Workers of the same BotLogic share the transposition table
+// and the stop flag, everything else (including the position) is private to the worker.
+class SearchWorker {
+    // How many nodes to visit between clock checks in timed searches
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+    
+    private final TranspositionTable table;
+    private final int[] columnScores;
+    private final AtomicBoolean stop;
+    private final int id;
+    private final int columns;
+    private final int[] centerOrder;
+    private final MoveOrderer orderer;
+    private final int[][] moveLists;
+    private final int[] iterationScores;
+    
+    private GamePosition position;
+    private int searchDepth;
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private int completedDepth;
+    private int rootScore;
+    private int completedScore;
+    
+    // Move ordering counters: expanded nodes, nodes that cut off, and cutoffs by the first move
+    private long expandedNodes;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    
+    // Work counters: leaves evaluated, table probes, and probes that found a current entry
+    private long leafEvaluations;
+    private long tableProbes;
+    private long tableHits;
+    
+    SearchWorker(int id, BoardGeometry geometry, TranspositionTable table, AtomicBoolean stop) {
+        this.id = id;
+        this.table = table;
+        this.columnScores = geometry.columnScores;
+        this.stop = stop;
+        columns = geometry.columns();
+        centerOrder = geometry.centerOrder;
+        orderer = new MoveOrderer(geometry);
+        moveLists = new int[geometry.cells()][columns];
+        iterationScores = new int[columns];
+    }
+    
+    // Iterative deepening from the root. Helper workers start at alternating depths and
+    // rotate their root move order so they explore different parts of the tree first.
+    int iterate(GamePosition root, int depthLimit, int bestCol, long deadline) {
+        start(root, deadline);
+        
+        for (int depth = id % 2; depth <= depthLimit && !aborted; depth++) {
+            int col = searchRoot(depth, bestCol);
+            if (col != -1) {
+                bestCol = col;
+            }
+            if (!aborted) {
+                completedDepth = depth;
+                completedScore = rootScore;
+            }
+        }
+        
+        return bestCol;
+    }
+    
+    // Score every root move with a full window, so each score is exact rather than a bound.
+    // Shallower iterations only warm up the table and move ordering. Full columns score Integer.MIN_VALUE.
+    // A stop ends the search at the iteration it cuts short: scores keeps the last completed
+    // depth (and is left alone if none completed) and false is returned.
+    boolean scoreMoves(GamePosition root, int depthLimit, int[] scores) {
+        start(root, Long.MAX_VALUE);
+        
+        // On a symmetric board the right half scores the same as the left half
+        boolean symmetric = position.isSymmetric();
+        for (int depth = 0; depth <= depthLimit; depth++) {
+            searchDepth = depth;
+            for (int col = 0; col < columns; col++) {
+                if (!position.canPlay(col)) {
+                    iterationScores[col] = Integer.MIN_VALUE;
+                    continue;
+                }
+                if (symmetric && col > columns / 2) {
+                    iterationScores[col] = iterationScores[columns - 1 - col];
+                    continue;
+                }
+                position.play(col, Position.BOT);
+                iterationScores[col] = minimax(0, false, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                position.undo(col);
+                
+                // The aborted search returned 0 for the rest of the tree, not a score
+                if (aborted) {
+                    return false;
+                }
+            }
+            System.arraycopy(iterationScores, 0, scores, 0, columns);
+            completedDepth = depth;
+        }
+        return true;
+    }
+    
+    private void start(GamePosition root, long deadline) {
+        this.position = root;
+        this.deadline = deadline;
+        nodes = 0;
+        expandedNodes = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        leafEvaluations = 0;
+        tableProbes = 0;
+        tableHits = 0;
+        aborted = false;
+        completedDepth = -1;
+        orderer.reset();
+    }
+    
+    long nodes() {
+        return nodes;
+    }
+    
+    int completedDepth() {
+        return completedDepth;
+    }
+    
+    // Root score of the best move at the completed depth, center bias included
+    int completedScore() {
+        return completedScore;
+    }
+    
+    long expandedNodes() {
+        return expandedNodes;
+    }
+    
+    long cutoffs() {
+        return cutoffs;
+    }
+    
+    long firstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+    
+    long leafEvaluations() {
+        return leafEvaluations;
+    }
+    
+    long tableProbes() {
+        return tableProbes;
+    }
+    
+    long tableHits() {
+        return tableHits;
+    }
+    
+    // Search every root move to the given depth, trying the previous best move first.
+    // Returns -1 if the clock ran out before the first move finished.
+    private int searchRoot(int depth, int previousBest) {
+        searchDepth = depth;
+        int bestScore = Integer.MIN_VALUE;
+        int bestCol = -1;
+        
+        // On a symmetric board a column and its mirror are the same move; keep the left one
+        boolean symmetric = position.isSymmetric();
+        if (symmetric && previousBest > columns / 2) {
+            previousBest = columns - 1 - previousBest;
+        }
+        
+        for (int i = -1; i < columns; i++) {
+            int col = i < 0 ? previousBest : centerOrder[(i + id) % columns];
+            if ((i >= 0 && col == previousBest) || !position.canPlay(col) || (symmetric && col > columns / 2)) {
+                continue;
+            }
+            
+            // Only a score above the current best (after the center bias) matters
+            int alpha = bestScore == Integer.MIN_VALUE ? Integer.MIN_VALUE : bestScore - columnScores[col];
+            
+            position.play(col, Position.BOT);
+            int score = minimax(0, false, alpha, Integer.MAX_VALUE);
+            position.undo(col); // Undo the move
+            
+            if (aborted) {
+                break;
+            }
+            
+            // Add bias for center columns
+            score += columnScores[col];
+            
+            if (score > bestScore) {
+                bestScore = score;
+                bestCol = col;
+            }
+        }
+        
+        rootScore = bestScore;
+        return bestCol;
+    }
+    
+    private int minimax(int depth, boolean isMaximizingPlayer, int alpha, int beta) {
+        // Give up on the iteration once the deadline has passed or another worker finished
+        if ((++nodes & (CLOCK_CHECK_INTERVAL - 1)) == 0 && (stop.get() || System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+        
+        // Base cases: only the side that just moved can have completed four
+        if (isMaximizingPlayer) {
+            if (position.isWin(Position.PLAYER)) return depth - 100;
+        } else if (position.isWin(Position.BOT)) {
+            return 100 - depth;
+        }
+        int side = isMaximizingPlayer ? Position.BOT : Position.PLAYER;
+        if (position.isFull() || depth >= searchDepth) {
+            leafEvaluations++;
+            return position.evaluate() + position.threatParity(side);
+        }
+        
+        // Threat analysis: take a win on the spot, and only consider moves that do not hand
+        // the opponent one. A single forced block leaves one move to search; with none left
+        // the opponent wins on its next move whatever is played.
+        if (position.winningColumns(side) != 0) {
+            return isMaximizingPlayer ? 100 - (depth + 1) : (depth + 1) - 100;
+        }
+        int safe = position.safeColumns(side);
+        if (safe == 0) {
+            return isMaximizingPlayer ? (depth + 2) - 100 : 100 - (depth + 2);
+        }
+        
+        // Reuse a stored result if it was searched at least as deep. A position and its mirror
+        // share an entry, with the move stored for the canonical side.
+        boolean mirrored = position.isMirrored();
+        long key = mirrored ? position.mirrorKey() : position.key();
+        int remaining = searchDepth - depth;
+        long entry = table.probe(key);
+        tableProbes++;
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (mirrored && hashMove != TranspositionTable.NO_MOVE) {
+                hashMove = columns - 1 - hashMove;
+            }
+            if (table.isCurrent(entry)) {
+                tableHits++;
+            }
+            if (table.isCurrent(entry) && TranspositionTable.depth(entry) >= remaining) {
+                int stored = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT) return stored;
+                if (bound == TranspositionTable.LOWER) alpha = Math.max(alpha, stored);
+                else if (bound == TranspositionTable.UPPER) beta = Math.min(beta, stored);
+                if (beta <= alpha) return stored;
+            }
+        }
+        
+        int alphaOrig = alpha;
+        int betaOrig = beta;
+        int best = isMaximizingPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestMove = TranspositionTable.NO_MOVE;
+        
+        int[] moves = moveLists[depth];
+        int count = orderer.order(safe, depth, side, hashMove, moves);
+        expandedNodes++;
+        
+        for (int i = 0; i < count; i++) {
+            int col = moves[i];
+            
+            position.play(col, side);
+            int eval = minimax(depth + 1, !isMaximizingPlayer, alpha, beta);
+            position.undo(col); // Undo move
+            
+            if (isMaximizingPlayer) {
+                if (eval > best) {
+                    best = eval;
+                    bestMove = col;
+                }
+                alpha = Math.max(alpha, eval);
+            } else {
+                if (eval < best) {
+                    best = eval;
+                    bestMove = col;
+                }
+                beta = Math.min(beta, eval);
+            }
+            
+            if (beta <= alpha) {
+                cutoffs++;
+                if (i == 0) {
+                    firstMoveCutoffs++;
+                }
+                orderer.cutoff(depth, side, col, remaining);
+                break; // Cutoff
+            }
+        }
+        
+        // An interrupted node has no trustworthy score
+        if (aborted) return 0;
+        
+        int bound = best <= alphaOrig ? TranspositionTable.UPPER
+                : best >= betaOrig ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        if (mirrored && bestMove != TranspositionTable.NO_MOVE) {
+            bestMove = columns - 1 - bestMove;
+        }
+        table.store(key, best, bound, remaining, bestMove);
+        
+        return best;
+    }
+}
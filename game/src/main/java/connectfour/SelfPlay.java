@@ -0,0 +1,220 @@
+package connectfour;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Headless engine-vs-engine matches. Games run in parallel on a thread pool, start from a
+// few random moves so they do not all repeat the same game, and swap colors every game.
+// Given a game log the games are appended to it, e.g. as a corpus for EvalTuner.
+//
+// Usage: java -cp game/target/connect-four.jar connectfour.SelfPlay
+//            [games] [engineA] [engineB] [threads] [openingPlies] [seed] [gameLog]
+//
+// Engines: "simple" (findSimpleMove), "bot" (BotLogic defaults), "depth:N" (fixed depth),
+// "time:MS" (iterative deepening with a per-move budget), "mcts:MS" (MCTS with a per-move
+// budget) and "playouts:N" (MCTS with a fixed number of playouts). Engines search on the
+// game's own thread, so latencies are the searches alone.
+public class SelfPlay {
+    private static final int ROWS = 6;
+    private static final int COLS = 7;
+    private static final char EMPTY = ' ';
+    private static final char PLAYER1 = 'X';
+    private static final char PLAYER2 = 'O';
+
+    // Result of a game from engine A's point of view
+    private static final int A_WINS = 1;
+    private static final int DRAW = 0;
+    private static final int B_WINS = -1;
+
+    private static final class GameResult {
+        final int result;
+        final long[] latenciesA;
+        final long[] latenciesB;
+        final GameRecord record;
+
+        GameResult(int result, long[] latenciesA, long[] latenciesB, GameRecord record) {
+            this.result = result;
+            this.latenciesA = latenciesA;
+            this.latenciesB = latenciesB;
+            this.record = record;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        String specA = args.length > 1 ? args[1] : "bot";
+        String specB = args.length > 2 ? args[2] : "simple";
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int openingPlies = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        GameLogWriter gameLog = args.length > 6 ? GameLogWriter.open(Paths.get(args[6])) : null;
+
+        // Engines keep search state, so every pool thread gets its own pair
+        ThreadLocal<SearchEngine.Searcher> enginesA =
+                ThreadLocal.withInitial(SearchEngine.searchers(specA, BoardGeometry.STANDARD, null, null));
+        ThreadLocal<SearchEngine.Searcher> enginesB =
+                ThreadLocal.withInitial(SearchEngine.searchers(specB, BoardGeometry.STANDARD, null, null));
+
+        System.out.printf("%d games, A = %s, B = %s, %d threads, %d random opening plies, seed %d%n",
+                games, specA, specB, threads, openingPlies, seed);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<GameResult>> futures = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            boolean aFirst = i % 2 == 0;
+            Random random = new Random(seed + i);
+            futures.add(pool.submit(() -> playGame(enginesA.get(), enginesB.get(), aFirst, openingPlies, random)));
+        }
+
+        int wins = 0;
+        int draws = 0;
+        int losses = 0;
+        LatencyRecorder latencyA = new LatencyRecorder();
+        LatencyRecorder latencyB = new LatencyRecorder();
+        for (Future<GameResult> future : futures) {
+            GameResult game = future.get();
+            if (game.result == A_WINS) wins++;
+            else if (game.result == B_WINS) losses++;
+            else draws++;
+            latencyA.addAll(game.latenciesA);
+            latencyB.addAll(game.latenciesB);
+            if (gameLog != null) {
+                gameLog.append(game.record);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        if (gameLog != null) {
+            gameLog.close();
+        }
+
+        long moves = latencyA.count() + latencyB.count();
+        System.out.printf("A wins %d, draws %d, B wins %d%n", wins, draws, losses);
+        System.out.printf("%.1f s, %.1f games/s, %.1f engine moves/s%n", seconds, games / seconds, moves / seconds);
+        System.out.println("A move latency: " + latencyA.summary());
+        System.out.println("B move latency: " + latencyB.summary());
+
+        SearchMetrics metrics = SearchMetrics.global();
+        System.out.printf("searches %d (book %d, cached %d, forced %d, solved %d), avg depth %.1f, %.0f nodes/s, "
+                        + "cutoff rate %.3f, first move %.3f, table hits %.3f%n",
+                metrics.getSearches(), metrics.getBookMoves(), metrics.getCacheMoves(), metrics.getForcedMoves(),
+                metrics.getSolverMoves(),
+                metrics.getAverageDepth(), metrics.getNodesPerSecond(), metrics.getCutoffRate(),
+                metrics.getFirstMoveCutoffRate(), metrics.getTableHitRate());
+    }
+
+    private static GameResult playGame(SearchEngine.Searcher a, SearchEngine.Searcher b, boolean aFirst, int openingPlies, Random random) {
+        char[][] board = new char[ROWS][COLS];
+        for (char[] row : board) {
+            Arrays.fill(row, EMPTY);
+        }
+        int[] nextEmptyRow = new int[COLS];
+        Arrays.fill(nextEmptyRow, ROWS - 1);
+
+        char symbolA = aFirst ? PLAYER1 : PLAYER2;
+        long[] latenciesA = new long[ROWS * COLS];
+        long[] latenciesB = new long[ROWS * COLS];
+        int movesA = 0;
+        int movesB = 0;
+
+        int[] moves = new int[ROWS * COLS];
+        long startMillis = System.currentTimeMillis();
+
+        char current = PLAYER1;
+        for (int ply = 0; ply < ROWS * COLS; ply++) {
+            int col;
+            if (ply < openingPlies) {
+                col = randomOpeningMove(board, nextEmptyRow, current, random);
+            } else {
+                boolean aToMove = current == symbolA;
+                long start = System.nanoTime();
+                col = (aToMove ? a : b).search(board, current);
+                long elapsed = System.nanoTime() - start;
+                if (aToMove) latenciesA[movesA++] = elapsed;
+                else latenciesB[movesB++] = elapsed;
+            }
+
+            if (col < 0 || col >= COLS || nextEmptyRow[col] < 0) {
+                throw new IllegalStateException("Engine played an illegal column " + col);
+            }
+            int row = nextEmptyRow[col]--;
+            board[row][col] = current;
+            moves[ply] = col;
+
+            if (ConnectFour.checkWin(board, row, col)) {
+                int result = current == symbolA ? A_WINS : B_WINS;
+                GameRecord record = GameRecord.of(moves, ply + 1,
+                        current == PLAYER1 ? GameRecord.FIRST_PLAYER_WINS : GameRecord.SECOND_PLAYER_WINS,
+                        0, startMillis, System.currentTimeMillis());
+                return new GameResult(result, Arrays.copyOf(latenciesA, movesA), Arrays.copyOf(latenciesB, movesB), record);
+            }
+            current = current == PLAYER1 ? PLAYER2 : PLAYER1;
+        }
+
+        GameRecord record = GameRecord.of(moves, ROWS * COLS, GameRecord.DRAW, 0, startMillis, System.currentTimeMillis());
+        return new GameResult(DRAW, Arrays.copyOf(latenciesA, movesA), Arrays.copyOf(latenciesB, movesB), record);
+    }
+
+    // Random column that does not end the game on the spot
+    private static int randomOpeningMove(char[][] board, int[] nextEmptyRow, char symbol, Random random) {
+        int[] candidates = new int[COLS];
+        int count = 0;
+        for (int col = 0; col < COLS; col++) {
+            int row = nextEmptyRow[col];
+            if (row < 0) {
+                continue;
+            }
+            board[row][col] = symbol;
+            boolean wins = ConnectFour.checkWin(board, row, col);
+            board[row][col] = EMPTY;
+            if (!wins) {
+                candidates[count++] = col;
+            }
+        }
+        if (count == 0) {
+            return ConnectFour.findSimpleMove(board, symbol);
+        }
+        return candidates[random.nextInt(count)];
+    }
+
+    // Collects per-move latencies and reports percentiles
+    private static final class LatencyRecorder {
+        private long[] samples = new long[1024];
+        private int count;
+
+        void addAll(long[] values) {
+            if (count + values.length > samples.length) {
+                samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + values.length));
+            }
+            System.arraycopy(values, 0, samples, count, values.length);
+            count += values.length;
+        }
+
+        int count() {
+            return count;
+        }
+
+        String summary() {
+            if (count == 0) {
+                return "no moves";
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return String.format("p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms (%d moves)",
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    sorted[count - 1] / 1e6, count);
+        }
+
+        private static double percentile(long[] sorted, int p) {
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package connectfour;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Exact endgame solver: negamax with alpha-beta over raw bitboards, driven by null-window
+// searches that narrow the score interval. Scores are from the side to move: positive means
+// a win, and the sooner the win the higher the score (a win with the k-th own piece from
+// now scores (42 + 1 - moves) / 2 - k + 1). Zero is a draw.
+class Solver {
+    private static final int WIDTH = Position.WIDTH;
+    private static final int CELLS = Position.WIDTH * Position.HEIGHT;
+    private static final int MIN_SCORE = -CELLS / 2 + 3;
+
+    // How many nodes to visit between clock checks
+    private static final int CLOCK_CHECK_INTERVAL = 4096;
+
+    // Solved results stay valid forever, so the table is kept between searches.
+    // Each entry holds the full key and an upper bound on the score. A position and its
+    // mirror image have the same score, so they share the entry of the smaller key.
+    private final long[] keys;
+    private final byte[] values;
+    private final int tableShift;
+
+    private final long[][] moveLists = new long[CELLS][WIDTH];
+    private final int[][] moveScores = new int[CELLS][WIDTH];
+
+    private long deadline;
+    private AtomicBoolean stop;
+    private boolean aborted;
+    private long nodes;
+    private int lastScore;
+
+    Solver(int tableBits) {
+        keys = new long[1 << tableBits];
+        values = new byte[1 << tableBits];
+        tableShift = 64 - tableBits;
+    }
+
+    // Best column for the side to move, or -1 if the deadline or stop flag cut the solve short
+    int bestMove(Position position, int side, long deadline, AtomicBoolean stop) {
+        this.deadline = deadline;
+        this.stop = stop;
+        aborted = false;
+        nodes = 0;
+
+        long current = position.pieces(side);
+        long mask = position.mask();
+        int moves = position.moveCount();
+
+        // On a symmetric board a column and its mirror are the same move
+        boolean symmetric = position.isSymmetric();
+        int bestCol = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int col : MoveOrderer.CENTER_ORDER) {
+            if (!position.canPlay(col) || (symmetric && col > WIDTH / 2)) {
+                continue;
+            }
+            long move = Position.possible(mask) & Position.columnMask(col);
+            if ((Position.winningCells(current, mask) & move) != 0) {
+                lastScore = (CELLS + 1 - moves) / 2;
+                return col;
+            }
+
+            int score = -solve(current ^ mask, mask | move, moves + 1);
+            if (aborted) {
+                return -1;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestCol = col;
+            }
+        }
+
+        lastScore = bestScore;
+        return bestCol;
+    }
+
+    // Exact score of the last bestMove result
+    int lastScore() {
+        return lastScore;
+    }
+
+    long nodes() {
+        return nodes;
+    }
+
+    // Exact score of the position for the side to move (current holds its pieces)
+    private int solve(long current, long mask, int moves) {
+        if (canWinNext(current, mask)) {
+            return (CELLS + 1 - moves) / 2;
+        }
+
+        int min = -(CELLS - moves) / 2;
+        int max = (CELLS + 1 - moves) / 2;
+        while (min < max && !aborted) {
+            // Probe with a null window, biased towards zero where most scores are
+            int med = min + (max - min) / 2;
+            if (med <= 0 && min / 2 < med) med = min / 2;
+            else if (med >= 0 && max / 2 > med) med = max / 2;
+
+            int r = negamax(current, mask, moves, med, med + 1);
+            if (r <= med) max = r;
+            else min = r;
+        }
+        return min;
+    }
+
+    // Assumes the side to move cannot win with its next piece
+    private int negamax(long current, long mask, int moves, int alpha, int beta) {
+        if ((++nodes & (CLOCK_CHECK_INTERVAL - 1)) == 0 && (stop.get() || System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+        if (aborted) return alpha;
+
+        long next = nonLosingMoves(current, mask);
+        if (next == 0) {
+            // Every move lets the opponent win right away
+            return -(CELLS - moves) / 2;
+        }
+        if (moves >= CELLS - 2) {
+            // Nobody can win with the last two pieces
+            return 0;
+        }
+
+        // The opponent cannot win next move, so the score is at least this
+        int min = -(CELLS - 2 - moves) / 2;
+        if (alpha < min) {
+            alpha = min;
+            if (alpha >= beta) return alpha;
+        }
+
+        // We cannot win next move either, so the score is at most this
+        int max = (CELLS - 1 - moves) / 2;
+        long key = current + mask;
+        key = Math.min(key, Position.mirror(key));
+        int slot = index(key);
+        if (keys[slot] == key) {
+            max = values[slot] + MIN_SCORE - 1;
+        }
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) return beta;
+        }
+
+        // Order by how many winning cells the move creates, center first on ties
+        long[] moveList = moveLists[moves];
+        int[] scores = moveScores[moves];
+        int count = 0;
+        for (int col : MoveOrderer.CENTER_ORDER) {
+            long move = next & Position.columnMask(col);
+            if (move == 0) {
+                continue;
+            }
+            int score = Long.bitCount(Position.winningCells(current | move, mask));
+            int i = count++;
+            while (i > 0 && scores[i - 1] < score) {
+                moveList[i] = moveList[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            moveList[i] = move;
+            scores[i] = score;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int score = -negamax(current ^ mask, mask | moveList[i], moves + 1, -beta, -alpha);
+            if (score >= beta) return score;
+            if (score > alpha) alpha = score;
+        }
+
+        if (!aborted) {
+            keys[slot] = key;
+            values[slot] = (byte) (alpha - MIN_SCORE + 1);
+        }
+        return alpha;
+    }
+
+    private static boolean canWinNext(long current, long mask) {
+        return (Position.winningCells(current, mask) & Position.possible(mask)) != 0;
+    }
+
+    // Playable cells that do not hand the opponent an immediate win
+    private static long nonLosingMoves(long current, long mask) {
+        long possible = Position.possible(mask);
+        long opponentWins = Position.winningCells(current ^ mask, mask);
+        long forced = possible & opponentWins;
+        if (forced != 0) {
+            if ((forced & (forced - 1)) != 0) {
+                // Two threats at once cannot both be blocked
+                return 0;
+            }
+            possible = forced;
+        }
+        // Never play directly below an opponent's winning cell
+        return possible & ~(opponentWins >> 1);
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> tableShift);
+    }
+}
@@ -0,0 +1,113 @@
+package connectfour;
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+    public static final int NONE = 0;
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    public static final int NO_MOVE = 15;
+
+    // Each entry is two longs: the verification word (key ^ data) and the packed data
+    private static final int ENTRY_BYTES = 16;
+
+    // Entries live in buckets of two: slot 0 keeps the deepest result, slot 1 always takes the newest
+    private final long[] checks;
+    private final long[] data;
+    private final int bucketMask;
+    private int generation;
+
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb < 1) {
+            throw new IllegalArgumentException("Transposition table size must be at least 1 MB");
+        }
+        long entries = (long) sizeMb * 1024 * 1024 / ENTRY_BYTES;
+        int buckets = Integer.highestOneBit((int) Math.min(entries / 2, 1 << 29));
+        checks = new long[buckets * 2];
+        data = new long[buckets * 2];
+        bucketMask = buckets - 1;
+    }
+
+    // Called once per search; results from older searches only serve as move hints
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(checks, 0);
+        Arrays.fill(data, 0);
+    }
+
+    public int capacity() {
+        return checks.length;
+    }
+
+    // Returns the packed entry for the key, or 0 when there is none
+    public long probe(long key) {
+        int slot = bucket(key);
+        long entry = data[slot];
+        if (entry != 0 && (checks[slot] ^ entry) == key) {
+            return entry;
+        }
+        entry = data[slot + 1];
+        if (entry != 0 && (checks[slot + 1] ^ entry) == key) {
+            return entry;
+        }
+        return 0;
+    }
+
+    public void store(long key, int score, int bound, int depth, int move) {
+        long entry = pack(score, bound, depth, move, generation);
+        int slot = bucket(key);
+
+        // Keep the deep slot unless the new result is at least as deep or the old one is stale
+        long deep = data[slot];
+        boolean sameKey = deep != 0 && (checks[slot] ^ deep) == key;
+        if (deep == 0 || sameKey || depth >= depth(deep) || generation(deep) != generation) {
+            checks[slot] = key ^ entry;
+            data[slot] = entry;
+        } else {
+            checks[slot + 1] = key ^ entry;
+            data[slot + 1] = entry;
+        }
+    }
+
+    public boolean isCurrent(long entry) {
+        return generation(entry) == generation;
+    }
+
+    public static int score(long entry) {
+        return (short) entry;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 16) & 0x3;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 18) & 0xFF;
+    }
+
+    public static int move(long entry) {
+        return (int) (entry >>> 26) & 0xF;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 30) & 0xFF;
+    }
+
+    private static long pack(int score, int bound, int depth, int move, int generation) {
+        return (score & 0xFFFFL)
+                | ((long) bound << 16)
+                | ((long) depth << 18)
+                | ((long) move << 26)
+                | ((long) generation << 30);
+    }
+
+    private int bucket(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) ((hash ^ (hash >>> 32)) & bucketMask) << 1;
+    }
+}
@@ -0,0 +1,59 @@
+package connectfour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// Moves and evaluations on fixed positions, written as 1-based column digits with the
+// player first, so the bot ('O') is to move. The expected values are those of the
+// char-array search the bitboard search replaced: its evaluation (three of the bot's in a
+// window 5, two 2, three of the player's -5, 3 per bot piece in the center column) and its
+// move at its 6-ply horizon, which the depth 7 search here matches on these positions.
+class BotLogicTest {
+    private static final int DEPTH = 7;
+
+    @ParameterizedTest
+    @CsvSource({
+        // Opening moves
+        "4, 3, 0",
+        "444, 3, 3",
+        // The player threatens four on the bottom row
+        "11223, 3, -3",
+        // Three of the bot's in the last column
+        "1717275, 6, 7",
+        // Quiet positions
+        "64142, 3, 8",
+        "47324, 3, 0",
+        "72126, 3, 2",
+        "4335132, 3, 2",
+        "3311154, 1, -3",
+        "4461115, 2, -7",
+        "5631674, 1, -5",
+        "357222137, 2, 4",
+        "752173731, 6, -1",
+        "742113753, 5, 8",
+        "21274453431, 1, 9",
+        "1441722757166, 3, 5",
+        "6334655433573, 1, 10",
+        "646171557611557, 6, 4",
+    })
+    void matchesTheCharArraySearch(String moves, int expectedMove, int expectedEvaluation) {
+        Position position = Position.fromMoves(moves);
+        assertEquals(expectedEvaluation, position.evaluate(), moves);
+
+        char[][] board = position.toBoard('O', 'X', ' ');
+        BotLogic bot = new BotLogic(BoardGeometry.STANDARD);
+        assertEquals(expectedMove, bot.findBestMove(board, 'O', DEPTH)[0], moves);
+    }
+
+    // The char-array search tried the columns in order and blocked in column 4 before it
+    // found its own win in column 7; the win comes first now
+    @ParameterizedTest
+    @CsvSource({"1717273, 6"})
+    void winsBeforeBlocking(String moves, int expectedMove) {
+        char[][] board = Position.fromMoves(moves).toBoard('O', 'X', ' ');
+        BotLogic bot = new BotLogic(BoardGeometry.STANDARD);
+        assertEquals(expectedMove, bot.findBestMove(board, 'O', DEPTH)[0], moves);
+    }
+}
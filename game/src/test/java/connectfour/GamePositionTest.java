@@ -0,0 +1,79 @@
+package connectfour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// The bitboard Position and the table-driven GridPosition must agree on every board the
+// bitboard holds. Random games are played on both side by side, taking moves back now and
+// then, and every answer the search relies on is compared after each move.
+class GamePositionTest {
+    private static final int GAMES = 3000;
+
+    @ParameterizedTest
+    @CsvSource({"7, 6", "8, 7"})
+    void positionAgreesWithGridPosition(int columns, int rows) {
+        BoardGeometry geometry = BoardGeometry.of(columns, rows);
+        assertTrue(geometry.fitsBitboard());
+        Random random = new Random(columns * 31L + rows);
+
+        for (int game = 0; game < GAMES; game++) {
+            char[][] empty = new char[rows][columns];
+            for (char[] row : empty) {
+                Arrays.fill(row, ' ');
+            }
+            Position position = Position.fromBoard(geometry, empty, 'X', ' ');
+            GridPosition grid = GridPosition.fromBoard(geometry, empty, 'X', ' ');
+            int side = game % 2;
+
+            while (!position.isFull()) {
+                String where = geometry + " game " + game + " ply " + position.moveCount();
+                compare(position, grid, columns, where);
+
+                int col;
+                do {
+                    col = random.nextInt(columns);
+                } while (!position.canPlay(col));
+                assertEquals(grid.play(col, side), position.play(col, side), where);
+                if (random.nextInt(10) == 0) {
+                    position.undo(col);
+                    grid.undo(col);
+                    compare(position, grid, columns, where + " after undo");
+                    position.play(col, side);
+                    grid.play(col, side);
+                }
+
+                assertEquals(grid.isWin(side), position.isWin(side), where);
+                if (position.isWin(side)) {
+                    break;
+                }
+                char[][] board = position.toBoard('X', 'O', ' ');
+                assertEquals(position.key(), Position.fromBoard(geometry, board, 'X', ' ').key(), where);
+                side ^= 1;
+            }
+        }
+    }
+
+    private static void compare(Position position, GridPosition grid, int columns, String where) {
+        for (int side = Position.BOT; side <= Position.PLAYER; side++) {
+            assertEquals(grid.winningColumns(side), position.winningColumns(side), where);
+            assertEquals(grid.safeColumns(side), position.safeColumns(side), where);
+            for (int col = 0; col < columns; col++) {
+                if (position.canPlay(col)) {
+                    assertEquals(grid.isWinningMove(col, side), position.isWinningMove(col, side), where);
+                } else {
+                    assertFalse(grid.canPlay(col), where);
+                }
+            }
+        }
+        assertEquals(grid.evaluate(), position.evaluate(), where);
+        assertEquals(grid.isSymmetric(), position.isSymmetric(), where);
+        assertEquals(grid.isFull(), position.isFull(), where);
+        assertEquals(grid.moveCount(), position.moveCount(), where);
+    }
+}
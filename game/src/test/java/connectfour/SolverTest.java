@@ -0,0 +1,69 @@
+package connectfour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// Exact scores of endgame positions, written as 1-based column digits with the first player
+// starting. The scores are from the side to move, in the solver's units: a win with the k-th
+// own piece from now is worth (42 + 1 - moves) / 2 - k + 1. These positions come from the
+// public Connect Four solver test sets and also agree with a plain minimax to the end.
+class SolverTest {
+    private static final int TABLE_BITS = 16;
+
+    @ParameterizedTest
+    @CsvSource({
+        "2252576253462244111563365343671351441, -1",
+        // The mirror image has the smaller key, so the table holds it mirrored
+        "7422341735647741166133573473242566, 1",
+        "23163416124767223154467471272416755633, 0",
+        "65214673556155731566316327373221417, -1",
+    })
+    void solvesKnownScores(String moves, int expectedScore) {
+        assertEquals(expectedScore, solve(moves), moves);
+        // The mirrored game scores the same
+        assertEquals(expectedScore, solve(mirror(moves)), mirror(moves));
+    }
+
+    @Test
+    void mirroredKeyIsUsed() {
+        Position position = Position.fromMoves("7422341735647741166133573473242566");
+        assertTrue(position.isMirrored());
+        assertFalse(Position.fromMoves(mirror("7422341735647741166133573473242566")).isMirrored());
+    }
+
+    @Test
+    void fullColumnIsSkipped() {
+        // Column 1 is full; the bot, to move, wins at once on top of its three in column 2
+        String moves = "1111113232425";
+        Position position = Position.fromMoves(moves);
+        assertFalse(position.canPlay(0));
+
+        Solver solver = new Solver(TABLE_BITS);
+        int side = moves.length() % 2 == 0 ? Position.PLAYER : Position.BOT;
+        assertEquals(1, solver.bestMove(position, side, Long.MAX_VALUE, new AtomicBoolean()));
+        assertEquals((42 + 1 - moves.length()) / 2, solver.lastScore());
+    }
+
+    private static int solve(String moves) {
+        Position position = Position.fromMoves(moves);
+        int side = moves.length() % 2 == 0 ? Position.PLAYER : Position.BOT;
+        Solver solver = new Solver(TABLE_BITS);
+        int col = solver.bestMove(position, side, Long.MAX_VALUE, new AtomicBoolean());
+        assertTrue(position.canPlay(col), moves);
+        return solver.lastScore();
+    }
+
+    private static String mirror(String moves) {
+        StringBuilder mirrored = new StringBuilder();
+        for (char move : moves.toCharArray()) {
+            mirrored.append((char) ('1' + '7' - move));
+        }
+        return mirrored.toString();
+    }
+}